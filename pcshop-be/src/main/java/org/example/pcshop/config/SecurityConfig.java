@@ -60,6 +60,7 @@ public class SecurityConfig {
                                                                 "/",
                                                                 "/api/products/**",
                                                                 "/api/categories/**",
+                                                                "/api/cart/**", // Quotes need no login; orders still do
                                                                 "/uploads/**",
                                                                 "/api/upload/**", // Made Public as requested
                                                                 "/api/banners/**", // Made Public: Allow viewing all
@@ -80,8 +81,9 @@ public class SecurityConfig {
                                                 .requestMatchers(HttpMethod.DELETE, "/api/news/**").hasRole("ADMIN")
 
                                                 // 🔐 USER & ADMIN
-                                                .requestMatchers("/api/orders/all").hasRole("ADMIN")
+                                                .requestMatchers("/api/orders/all", "/api/orders/search").hasRole("ADMIN")
                                                 .requestMatchers(HttpMethod.PUT, "/api/orders/*/status").hasRole("ADMIN")
+                                                .requestMatchers(HttpMethod.POST, "/api/orders/bulk-status").hasRole("ADMIN")
                                                 .requestMatchers("/api/orders/**").authenticated()
                                                 .requestMatchers("/api/users/**").authenticated() // Mới thêm cho Update Profile
 
@@ -0,0 +1,36 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.dto.SalesDashboard;
+import org.example.pcshop.service.SalesRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AnalyticsController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    // Revenue per day, orders per status and top sellers per category; defaults to the last 30 days
+    @GetMapping("/sales")
+    public SalesDashboard sales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer top) {
+        return salesRollupService.dashboard(from, to, top);
+    }
+
+    // Recompute the rollups from orders, e.g. after fixing data by hand in SQL
+    @PostMapping("/rebuild")
+    public Map<String, Integer> rebuild() {
+        return salesRollupService.rebuild();
+    }
+}
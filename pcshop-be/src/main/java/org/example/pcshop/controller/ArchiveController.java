@@ -0,0 +1,34 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.service.OrderArchiveService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/archive")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ArchiveController {
+
+    private final OrderArchiveService orderArchiveService;
+
+    public ArchiveController(OrderArchiveService orderArchiveService) {
+        this.orderArchiveService = orderArchiveService;
+    }
+
+    // Live vs archived order counts
+    @GetMapping("/orders")
+    public Map<String, Long> stats() {
+        return orderArchiveService.counts();
+    }
+
+    // Run the nightly archival now, e.g. right after lowering pcshop.archive.after
+    @PostMapping("/orders")
+    public Map<String, Object> archive() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("archived", orderArchiveService.archive());
+        result.putAll(orderArchiveService.counts());
+        return result;
+    }
+}
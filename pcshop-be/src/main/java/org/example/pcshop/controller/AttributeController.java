@@ -0,0 +1,24 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.service.ProductAttributeService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/attributes")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AttributeController {
+
+    private final ProductAttributeService productAttributeService;
+
+    public AttributeController(ProductAttributeService productAttributeService) {
+        this.productAttributeService = productAttributeService;
+    }
+
+    // Re-parse every product's specifications, e.g. after the parser learns a new alias
+    @PostMapping("/rebuild")
+    public Map<String, Integer> rebuild() {
+        return Map.of("products", productAttributeService.rebuildAll());
+    }
+}
@@ -2,7 +2,9 @@ package org.example.pcshop.controller;
 
 import org.example.pcshop.entity.Banner;
 import org.example.pcshop.service.BannerService;
+import org.example.pcshop.service.ResourceVersions;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,18 +13,26 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class BannerController {
     private final BannerService bannerService;
+    private final ResourceVersions resourceVersions;
 
-    public BannerController(BannerService bannerService) {
+    public BannerController(BannerService bannerService, ResourceVersions resourceVersions) {
         this.bannerService = bannerService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping
-    public List<Banner> getAll() {
+    public List<Banner> getAll(WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.BANNERS)) {
+            return null;
+        }
         return bannerService.getAllBanners(); // Admin view
     }
 
     @GetMapping("/active")
-    public List<Banner> getActive() {
+    public List<Banner> getActive(WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.BANNERS)) {
+            return null;
+        }
         return bannerService.getActiveBanners(); // Public view
     }
 
@@ -0,0 +1,29 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.dto.CacheStats;
+import org.example.pcshop.service.ProductCache;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CacheController {
+
+    private final ProductCache productCache;
+
+    public CacheController(ProductCache productCache) {
+        this.productCache = productCache;
+    }
+
+    @GetMapping("/stats")
+    public List<CacheStats> stats() {
+        return productCache.stats();
+    }
+
+    @DeleteMapping
+    public void clear() {
+        productCache.evictAll();
+    }
+}
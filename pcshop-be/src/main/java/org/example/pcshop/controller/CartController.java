@@ -0,0 +1,24 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.dto.CartQuote;
+import org.example.pcshop.dto.CartQuoteRequest;
+import org.example.pcshop.service.CartQuoteService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cart")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CartController {
+
+    private final CartQuoteService cartQuoteService;
+
+    public CartController(CartQuoteService cartQuoteService) {
+        this.cartQuoteService = cartQuoteService;
+    }
+
+    // Current prices, stock and totals for the browser's cart; send quote.total back as expectedTotal when ordering
+    @PostMapping("/quote")
+    public CartQuote quote(@RequestBody CartQuoteRequest request) {
+        return cartQuoteService.quote(request.getItems(), request.getVariantItems());
+    }
+}
@@ -1,8 +1,16 @@
 package org.example.pcshop.controller;
 
+import org.example.pcshop.dto.CategoryNode;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.ProductSummary;
 import org.example.pcshop.entity.Category;
 import org.example.pcshop.repository.CategoryRepository;
+import org.example.pcshop.service.CategoryTreeService;
+import org.example.pcshop.service.ProductCache;
+import org.example.pcshop.service.ResourceVersions;
+import org.example.pcshop.service.SuggestionIndex;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,21 +19,51 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final ResourceVersions resourceVersions;
+    private final CategoryTreeService categoryTreeService;
+    private final SuggestionIndex suggestionIndex;
 
-    public CategoryController(CategoryRepository categoryRepository) {
+    public CategoryController(CategoryRepository categoryRepository, ProductCache productCache,
+            ResourceVersions resourceVersions, CategoryTreeService categoryTreeService,
+            SuggestionIndex suggestionIndex) {
         this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.resourceVersions = resourceVersions;
+        this.categoryTreeService = categoryTreeService;
+        this.suggestionIndex = suggestionIndex;
     }
 
-    // GET: lấy tất cả category
+    // GET: lấy tất cả category (304 nếu client đã có bản mới nhất)
     @GetMapping
-    public List<Category> getAll() {
-        return categoryRepository.findAll();
+    public List<CategoryNode> getAll(WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.CATEGORIES)) {
+            return null;
+        }
+        return categoryTreeService.categories();
+    }
+
+    // GET: sản phẩm thuộc category (kể cả category con), phân trang theo cursor
+    @GetMapping("/{id}/products")
+    public CursorPage<ProductSummary> getProducts(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.PRODUCTS, ResourceVersions.CATEGORIES)) {
+            return null;
+        }
+        return productCache.getCategoryPage(id, sort, direction, cursor, size);
     }
 
     // POST: thêm category
     @PostMapping
     public Category create(@RequestBody Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        onCategoriesChanged();
+        return saved;
     }
 
     // PUT: update category
@@ -37,12 +75,22 @@ public class CategoryController {
         category.setName(categoryDetails.getName());
         category.setParent(categoryDetails.getParent());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        onCategoriesChanged();
+        return saved;
     }
 
     // DELETE: xóa category
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         categoryRepository.deleteById(id);
+        onCategoriesChanged();
+    }
+
+    private void onCategoriesChanged() {
+        categoryTreeService.rebuild();
+        suggestionIndex.refreshCategories();
+        productCache.evictAll();
+        resourceVersions.touch(ResourceVersions.CATEGORIES);
     }
 }
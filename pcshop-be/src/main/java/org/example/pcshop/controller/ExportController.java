@@ -0,0 +1,49 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.service.ExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<StreamingResponseBody> products(@RequestParam(defaultValue = "csv") String format) {
+        return stream("products", format, out -> exportService.exportProducts(out, format));
+    }
+
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> orders(@RequestParam(defaultValue = "csv") String format) {
+        return stream("orders", format, out -> exportService.exportOrders(out, format));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, String format,
+            StreamingResponseBody body) {
+        MediaType type = switch (format) {
+            case "csv" -> new MediaType("text", "csv", StandardCharsets.UTF_8);
+            case "ndjson" -> MediaType.parseMediaType("application/x-ndjson");
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        };
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "-" + LocalDate.now() + "." + format + "\"")
+                .body(body);
+    }
+}
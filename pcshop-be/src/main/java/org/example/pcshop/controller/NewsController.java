@@ -2,8 +2,10 @@ package org.example.pcshop.controller;
 
 import org.example.pcshop.entity.News;
 import org.example.pcshop.repository.NewsRepository;
+import org.example.pcshop.service.ResourceVersions;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,20 +15,28 @@ import java.util.List;
 public class NewsController {
 
     private final NewsRepository newsRepository;
+    private final ResourceVersions resourceVersions;
 
-    public NewsController(NewsRepository newsRepository) {
+    public NewsController(NewsRepository newsRepository, ResourceVersions resourceVersions) {
         this.newsRepository = newsRepository;
+        this.resourceVersions = resourceVersions;
     }
 
     // Public: List all news
     @GetMapping
-    public List<News> getAll() {
+    public List<News> getAll(WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.NEWS)) {
+            return null;
+        }
         return newsRepository.findAllByOrderByCreatedAtDesc();
     }
 
     // Public: Get details
     @GetMapping("/{id}")
-    public ResponseEntity<News> getById(@PathVariable Long id) {
+    public ResponseEntity<News> getById(@PathVariable Long id, WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.NEWS)) {
+            return null;
+        }
         return newsRepository.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -37,7 +47,9 @@ public class NewsController {
     public News create(@RequestBody News news) {
         news.setCreatedAt(LocalDateTime.now());
         news.setUpdatedAt(LocalDateTime.now());
-        return newsRepository.save(news);
+        News saved = newsRepository.save(news);
+        resourceVersions.touch(ResourceVersions.NEWS);
+        return saved;
     }
 
     // Admin: Update
@@ -49,7 +61,9 @@ public class NewsController {
             news.setImageUrl(newsDetails.getImageUrl());
             news.setAuthor(newsDetails.getAuthor());
             // UpdatedAt set by PreUpdate or manually
-            return ResponseEntity.ok(newsRepository.save(news));
+            News saved = newsRepository.save(news);
+            resourceVersions.touch(ResourceVersions.NEWS);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -58,6 +72,7 @@ public class NewsController {
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         if (newsRepository.existsById(id)) {
             newsRepository.deleteById(id);
+            resourceVersions.touch(ResourceVersions.NEWS);
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -1,8 +1,19 @@
 package org.example.pcshop.controller;
 
+import org.example.pcshop.dto.BulkStatusRequest;
+import org.example.pcshop.dto.BulkStatusResult;
 import org.example.pcshop.dto.CreateOrderRequest;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.OrderHistoryEntry;
+import org.example.pcshop.dto.OrderSearchRequest;
+import org.example.pcshop.dto.OrderSummary;
 import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.service.OrderHistoryService;
+import org.example.pcshop.service.OrderSearchService;
 import org.example.pcshop.service.OrderService;
+import org.example.pcshop.service.OrderStatusService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,9 +24,16 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderSearchService orderSearchService;
+    private final OrderStatusService orderStatusService;
+    private final OrderHistoryService orderHistoryService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderSearchService orderSearchService,
+            OrderStatusService orderStatusService, OrderHistoryService orderHistoryService) {
         this.orderService = orderService;
+        this.orderSearchService = orderSearchService;
+        this.orderStatusService = orderStatusService;
+        this.orderHistoryService = orderHistoryService;
     }
 
     @GetMapping("/my-orders")
@@ -23,6 +41,14 @@ public class OrderController {
         return orderService.getMyOrders();
     }
 
+    // Compact, paginated replacement for /my-orders
+    @GetMapping("/history")
+    public CursorPage<OrderHistoryEntry> getHistory(@AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return orderHistoryService.history(user, cursor, size);
+    }
+
     @PostMapping
     public Order createOrder(@RequestBody CreateOrderRequest request) {
         return orderService.createOrder(request);
@@ -33,9 +59,30 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    // Admin: filtered, newest-first listing; pass nextCursor back as cursor for the next page
+    @GetMapping("/search")
+    public CursorPage<OrderSummary> searchOrders(@ModelAttribute OrderSearchRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return orderSearchService.search(request, cursor, size);
+    }
+
+    @GetMapping("/{id}")
+    public Order getOrder(@PathVariable Long id) {
+        return orderService.getOrder(id);
+    }
+
+    // Admin: pass the version the screen showed to get 409 instead of overwriting someone else's change
     @PutMapping("/{id}/status")
-    public Order updateStatus(@PathVariable Long id, @RequestParam String status) {
-        return orderService.updateStatus(id, status);
+    public Order updateStatus(@PathVariable Long id, @RequestParam String status,
+            @RequestParam(required = false) Long version) {
+        return orderService.updateStatus(id, status, version);
+    }
+
+    // Admin: move many orders to one status in a single statement
+    @PostMapping("/bulk-status")
+    public BulkStatusResult bulkUpdateStatus(@RequestBody BulkStatusRequest request) {
+        return orderStatusService.bulkTransition(request.getIds(), request.getStatus());
     }
 
     @DeleteMapping("/{id}")
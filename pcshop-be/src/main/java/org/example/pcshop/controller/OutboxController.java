@@ -0,0 +1,31 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.service.OutboxService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+@CrossOrigin(origins = "http://localhost:5173")
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    public OutboxController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    // Pending and failed message counts
+    @GetMapping("/stats")
+    public Map<String, Long> stats() {
+        return outboxService.counts();
+    }
+
+    @PostMapping("/retry-failed")
+    public Map<String, Integer> retryFailed() {
+        int requeued = outboxService.retryFailed();
+        outboxService.wakeUp();
+        return Map.of("requeued", requeued);
+    }
+}
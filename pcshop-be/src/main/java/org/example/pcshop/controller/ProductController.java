@@ -1,15 +1,35 @@
 package org.example.pcshop.controller;
 
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.ProductSearchRequest;
+import org.example.pcshop.dto.ProductSummary;
+import org.example.pcshop.dto.SearchPage;
+import org.example.pcshop.dto.Suggestions;
 import org.example.pcshop.entity.Category;
 import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductImage;
+import org.example.pcshop.entity.ProductVariant;
 import org.example.pcshop.repository.CategoryRepository;
 import org.example.pcshop.repository.ProductRepository;
+import org.example.pcshop.service.ProductAttributeService;
+import org.example.pcshop.service.ProductCache;
+import org.example.pcshop.service.ProductCatalogService;
+import org.example.pcshop.service.ProductTextIndex;
+import org.example.pcshop.service.ResourceVersions;
+import org.example.pcshop.service.SuggestionIndex;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -19,16 +39,42 @@ public class ProductController {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductCatalogService productCatalogService;
+    private final ProductTextIndex productTextIndex;
+    private final ProductCache productCache;
+    private final ResourceVersions resourceVersions;
+    private final SuggestionIndex suggestionIndex;
+    private final ProductAttributeService productAttributeService;
 
     public ProductController(ProductRepository productRepository,
-            CategoryRepository categoryRepository) {
+            CategoryRepository categoryRepository,
+            ProductCatalogService productCatalogService,
+            ProductTextIndex productTextIndex,
+            ProductCache productCache,
+            ResourceVersions resourceVersions,
+            SuggestionIndex suggestionIndex,
+            ProductAttributeService productAttributeService) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productCatalogService = productCatalogService;
+        this.productTextIndex = productTextIndex;
+        this.productCache = productCache;
+        this.resourceVersions = resourceVersions;
+        this.suggestionIndex = suggestionIndex;
+        this.productAttributeService = productAttributeService;
     }
 
     @GetMapping
-    public List<Product> getAll() {
-        return productRepository.findAll();
+    public CursorPage<ProductSummary> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.PRODUCTS, ResourceVersions.CATEGORIES)) {
+            return null;
+        }
+        return productCatalogService.page(null, sort, direction, cursor, size);
     }
 
     @PostMapping
@@ -53,13 +99,21 @@ public class ProductController {
             product.getVariants().forEach(variant -> variant.setProduct(product));
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        onProductSaved(saved);
+        return saved;
     }
 
     @GetMapping("/{id}")
-    public Product getById(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
+    public Product getById(@PathVariable Long id, WebRequest request) {
+        if (resourceVersions.checkNotModified(request, ResourceVersions.product(id), ResourceVersions.CATEGORIES)) {
+            return null;
+        }
+        Product product = productCache.getDetail(id);
+        if (product == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return product;
     }
 
     @DeleteMapping("/{id}")
@@ -69,13 +123,14 @@ public class ProductController {
                     HttpStatus.NOT_FOUND, "Product not found");
         }
         productRepository.deleteById(id);
+        onProductDeleted(id);
     }
 
     @PutMapping("/{id}")
     public Product update(
             @PathVariable Long id,
             @RequestBody Product newProduct) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         if (newProduct.getCategory() != null && newProduct.getCategory().getId() != null) {
@@ -93,45 +148,130 @@ public class ProductController {
         product.setImageUrl(newProduct.getImageUrl());
         product.setSpecifications(newProduct.getSpecifications()); // Update specs
 
+        // Merge children instead of clear-and-reinsert, so unchanged rows keep their ids
+        boolean childrenChanged = false;
         if (newProduct.getImages() != null) {
-            product.getImages().clear();
-            newProduct.getImages().forEach(img -> {
-                img.setProduct(product);
-                product.getImages().add(img);
-            });
+            childrenChanged |= mergeImages(product, newProduct.getImages());
         }
 
-        // Update Variants
         if (newProduct.getVariants() != null) {
-            product.getVariants().clear(); // Simple replacement strategy
-            newProduct.getVariants().forEach(variant -> {
-                variant.setProduct(product);
-                product.getVariants().add(variant);
-            });
+            childrenChanged |= mergeVariants(product, newProduct.getVariants());
+        }
+        // @PreUpdate only fires for the product's own columns; the ETag needs child edits in updated_at too
+        if (childrenChanged) {
+            product.setUpdatedAt(LocalDateTime.now());
         }
+        product.refreshEffectiveValues();
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        onProductSaved(saved);
+        return saved;
     }
 
     @GetMapping("/search")
-    public List<Product> search(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) BigDecimal minPrice,
-            @RequestParam(required = false) BigDecimal maxPrice) {
-        if (name != null) {
-            return productRepository.findByNameContainingIgnoreCase(name);
+    public SearchPage<ProductSummary> search(
+            ProductSearchRequest criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
+        return productCatalogService.search(criteria, sort, direction, cursor, size);
+    }
+
+    @GetMapping("/suggest")
+    public Suggestions suggest(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "6") int limit) {
+        return suggestionIndex.suggest(query, Math.max(1, Math.min(limit, 20)));
+    }
+
+    // Images arrive without ids from the admin form, so an existing row is matched by id or by URL.
+    // Returns whether any image was added, removed or changed
+    private boolean mergeImages(Product product, List<ProductImage> incoming) {
+        Map<Long, ProductImage> byId = new HashMap<>();
+        Map<String, ProductImage> byUrl = new HashMap<>();
+        for (ProductImage image : product.getImages()) {
+            byId.put(image.getId(), image);
+            byUrl.putIfAbsent(image.getImageUrl(), image);
         }
 
-        if (categoryId != null) {
-            return productRepository.findByCategory_IdOrCategory_Parent_Id(categoryId, categoryId);
+        Set<Long> kept = new HashSet<>();
+        List<ProductImage> added = new ArrayList<>();
+        boolean changed = false;
+        for (ProductImage image : incoming) {
+            ProductImage current = image.getId() != null ? byId.get(image.getId()) : byUrl.get(image.getImageUrl());
+            if (current != null && kept.add(current.getId())) {
+                changed |= !Objects.equals(current.getImageUrl(), image.getImageUrl());
+                current.setImageUrl(image.getImageUrl());
+            } else {
+                image.setId(null);
+                image.setProduct(product);
+                added.add(image);
+            }
         }
 
-        if (minPrice != null && maxPrice != null) {
-            return productRepository.findByPriceBetween(minPrice, maxPrice);
+        changed |= product.getImages().removeIf(image -> !kept.contains(image.getId()));
+        product.getImages().addAll(added);
+        return changed || !added.isEmpty();
+    }
+
+    // Variants are matched by id only; an id from another product is treated as a new row.
+    // Returns whether any variant was added, removed or changed
+    private boolean mergeVariants(Product product, List<ProductVariant> incoming) {
+        Map<Long, ProductVariant> byId = new HashMap<>();
+        for (ProductVariant variant : product.getVariants()) {
+            byId.put(variant.getId(), variant);
         }
 
-        return productRepository.findAll();
+        Set<Long> kept = new HashSet<>();
+        List<ProductVariant> added = new ArrayList<>();
+        boolean changed = false;
+        for (ProductVariant variant : incoming) {
+            ProductVariant current = variant.getId() != null ? byId.get(variant.getId()) : null;
+            if (current != null && kept.add(current.getId())) {
+                changed |= !sameVariant(current, variant);
+                // Hibernate only issues an UPDATE when one of these actually changed
+                current.setColor(variant.getColor());
+                current.setSpecifications(variant.getSpecifications());
+                current.setPrice(variant.getPrice());
+                current.setStockQuantity(variant.getStockQuantity());
+                current.setImageUrl(variant.getImageUrl());
+            } else {
+                variant.setId(null);
+                variant.setProduct(product);
+                added.add(variant);
+            }
+        }
+
+        changed |= product.getVariants().removeIf(variant -> !kept.contains(variant.getId()));
+        product.getVariants().addAll(added);
+        return changed || !added.isEmpty();
+    }
+
+    private static boolean sameVariant(ProductVariant current, ProductVariant incoming) {
+        return Objects.equals(current.getColor(), incoming.getColor())
+                && Objects.equals(current.getSpecifications(), incoming.getSpecifications())
+                && (current.getPrice() == null ? incoming.getPrice() == null
+                        : incoming.getPrice() != null && current.getPrice().compareTo(incoming.getPrice()) == 0)
+                && Objects.equals(current.getStockQuantity(), incoming.getStockQuantity())
+                && Objects.equals(current.getImageUrl(), incoming.getImageUrl());
+    }
+
+    // Keep every read-side copy of the catalog in step with a write
+    private void onProductSaved(Product saved) {
+        productTextIndex.index(saved);
+        suggestionIndex.index(saved);
+        productAttributeService.reindex(saved);
+        productCache.evictProduct(saved.getId());
+        resourceVersions.touch(ResourceVersions.PRODUCTS, ResourceVersions.product(saved.getId()));
+    }
+
+    private void onProductDeleted(Long id) {
+        productTextIndex.remove(id);
+        suggestionIndex.remove(id);
+        productAttributeService.remove(id);
+        productCache.evictProduct(id);
+        resourceVersions.touch(ResourceVersions.PRODUCTS, ResourceVersions.product(id));
     }
 
 }
@@ -0,0 +1,44 @@
+package org.example.pcshop.controller;
+
+import org.example.pcshop.dto.ImportReport;
+import org.example.pcshop.service.ProductImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/products/import")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ProductImportController {
+
+    private final ProductImportService productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    // Body is the raw file: text/csv, or application/x-ndjson with one product object per line
+    @PostMapping
+    public ImportReport importProducts(
+            InputStream body,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = "Content-Type", required = false) String contentType) {
+        String resolved = format != null ? format.toLowerCase()
+                : contentType != null && contentType.contains("csv") ? "csv" : "ndjson";
+        if (!resolved.equals("csv") && !resolved.equals("ndjson")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+        return productImportService.importProducts(body, resolved);
+    }
+
+    @GetMapping("/status")
+    public ImportReport status() {
+        ImportReport report = productImportService.status();
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No import has run yet");
+        }
+        return report;
+    }
+}
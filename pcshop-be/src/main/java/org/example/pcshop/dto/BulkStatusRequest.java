@@ -0,0 +1,11 @@
+package org.example.pcshop.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    private List<Long> ids;
+    private String status;
+}
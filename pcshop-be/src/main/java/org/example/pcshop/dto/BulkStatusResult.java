@@ -0,0 +1,22 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk status change: the orders that moved, and for the rest
+ * why not (NOT_FOUND, INVALID_TRANSITION from the current status, or CONFLICT
+ * when another admin changed the order at the same moment).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResult {
+    private String status;
+    private List<Long> updated;
+    private Map<Long, String> skipped;
+}
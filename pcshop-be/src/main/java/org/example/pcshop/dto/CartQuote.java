@@ -0,0 +1,37 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Server-side prices and stock for a cart. {@code orderable} is false when any
+ * line has a problem; stock is re-checked atomically when the order is placed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartQuote {
+    private List<Line> lines;
+    private int totalQuantity;
+    private BigDecimal total;
+    private boolean orderable;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long productId;
+        private Long variantId;
+        private String name;
+        private String imageUrl;
+        private BigDecimal unitPrice;
+        private int quantity;
+        private BigDecimal lineTotal;
+        private Integer available;
+        private String problem; // NOT_FOUND, INVALID_QUANTITY, OUT_OF_STOCK, VARIANT_REQUIRED or null
+    }
+}
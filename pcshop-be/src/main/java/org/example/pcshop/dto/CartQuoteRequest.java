@@ -0,0 +1,11 @@
+package org.example.pcshop.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class CartQuoteRequest {
+    private Map<Long, Integer> items; // productId -> quantity
+    private Map<Long, Integer> variantItems; // variantId -> quantity
+}
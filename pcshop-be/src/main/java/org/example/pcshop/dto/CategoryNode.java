@@ -0,0 +1,29 @@
+package org.example.pcshop.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable category view served from the in-memory tree. Top-level list
+ * entries carry their parent; nested children leave it out, like the
+ * entity's JSON did.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryNode {
+    private final Long id;
+    private final String name;
+    private final ParentRef parent;
+    private final List<CategoryNode> children;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ParentRef {
+        private final Long id;
+        private final String name;
+    }
+}
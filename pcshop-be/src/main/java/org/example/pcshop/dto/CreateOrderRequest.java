@@ -1,14 +1,18 @@
 package org.example.pcshop.dto;
 
 import lombok.Data;
+
+import java.math.BigDecimal;
 import java.util.Map;
 
 @Data
 public class CreateOrderRequest {
-    private Map<Long, Integer> items;
+    private Map<Long, Integer> items; // productId -> quantity
+    private Map<Long, Integer> variantItems; // variantId -> quantity, for items picked with a variant
     private String fullName;
     private String phoneNumber;
     private String shippingAddress;
     private String paymentMethod;
     private String note;
+    private BigDecimal expectedTotal; // CartQuote.total the customer saw; the order is refused if prices moved since
 }
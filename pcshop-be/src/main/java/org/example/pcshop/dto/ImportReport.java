@@ -0,0 +1,29 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private String format;
+    private String status; // RUNNING, DONE, FAILED
+    private long rows;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private String message;
+    private List<RowError> errors = new ArrayList<>(); // first errors only, see failed for the total
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One order in the customer's history: the order header plus what each line
+ * needs to render. Built from a flat join, never from Order/Product entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryEntry {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String status;
+    private BigDecimal totalPrice;
+    private String paymentMethod;
+    private String fullName;
+    private String phoneNumber;
+    private String shippingAddress;
+    private List<Line> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long id;
+        private Long productId; // null once the product has been deleted
+        private Long variantId;
+        private String name;
+        private String color;
+        private String imageUrl; // variant image when it has one
+        private int quantity;
+        private BigDecimal price;
+    }
+}
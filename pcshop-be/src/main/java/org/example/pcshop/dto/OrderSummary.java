@@ -0,0 +1,46 @@
+package org.example.pcshop.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the admin order list, read as a flat projection so no items,
+ * products or users are loaded per order. Details come from GET /api/orders/{id}.
+ */
+@Data
+@NoArgsConstructor
+public class OrderSummary {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String status;
+    private BigDecimal totalPrice;
+    private String paymentMethod;
+    private String fullName;
+    private String phoneNumber;
+    private Long userId;
+    private String userEmail;
+    private Long itemCount;
+    private Long version;
+    // Moved to orders_archive: finalized, read-only, and not in the live tables
+    private boolean archived;
+
+    // Used by the JPA constructor expression in OrderSearchService
+    public OrderSummary(Long id, LocalDateTime createdAt, String status, BigDecimal totalPrice,
+            String paymentMethod, String fullName, String phoneNumber, Long userId, String userEmail,
+            Long itemCount, Long version) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.paymentMethod = paymentMethod;
+        this.fullName = fullName;
+        this.phoneNumber = phoneNumber;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.itemCount = itemCount;
+        this.version = version;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ProductFacets {
+    private long total;
+    private Map<Long, Long> categories; // categoryId -> product count
+    private List<PriceBucket> priceBuckets;
+    private Integer minWattage;
+    private Integer maxWattage;
+    private long inStock;
+    private long outOfStock;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private BigDecimal from; // inclusive, null = unbounded
+        private BigDecimal to; // exclusive, null = unbounded
+        private long count;
+    }
+}
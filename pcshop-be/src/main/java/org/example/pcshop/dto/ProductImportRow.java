@@ -0,0 +1,35 @@
+package org.example.pcshop.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One product in a bulk import; category is resolved by id, or by name when categoryId is absent
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRow {
+    private String name;
+    private BigDecimal price;
+    private Integer quantity;
+    private Integer wattage;
+    private String imageUrl;
+    private Long categoryId;
+    private String category;
+    private String description;
+    private String specifications;
+    private List<String> images = new ArrayList<>();
+    private List<Variant> variants = new ArrayList<>();
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Variant {
+        private String color;
+        private String specifications;
+        private BigDecimal price;
+        private Integer stockQuantity;
+        private String imageUrl;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.pcshop.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class ProductSearchRequest {
+    private String name;
+    private Long categoryId; // matches the category and every category below it
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minWattage;
+    private Integer maxWattage;
+    private Boolean inStock;
+    private List<String> attr; // e.g. attr=ram>=16GB&attr=socket=LGA1700
+}
@@ -0,0 +1,50 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * What a product card needs. Listing endpoints return this instead of the
+ * Product entity, so no images, variants or TEXT columns are loaded or sent.
+ */
+@Data
+@NoArgsConstructor
+public class ProductSummary {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private String imageUrl;
+    private Integer quantity;
+    private Integer wattage;
+    private BigDecimal minPrice; // cheapest variant, or price when there are no variants
+    private BigDecimal maxPrice;
+    private Integer totalStock; // stock across variants, or quantity when there are none
+    private CategoryRef category;
+
+    // Used by the JPA constructor expression in ProductCatalogService
+    public ProductSummary(Long id, String name, BigDecimal price, String imageUrl, Integer quantity,
+            Integer wattage, BigDecimal minPrice, BigDecimal maxPrice, Integer totalStock,
+            Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imageUrl = imageUrl;
+        this.quantity = quantity;
+        this.wattage = wattage;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.totalStock = totalStock;
+        this.category = categoryId == null ? null : new CategoryRef(categoryId, categoryName);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryRef {
+        private Long id;
+        private String name;
+    }
+}
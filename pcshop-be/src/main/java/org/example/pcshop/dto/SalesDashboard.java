@@ -0,0 +1,54 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin sales figures for an inclusive date range, read from the rollup
+ * tables. Revenue and product sales leave out cancelled orders;
+ * {@code ordersByStatus} counts every order by its current status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesDashboard {
+    private LocalDate from;
+    private LocalDate to;
+    private List<Day> days;
+    private Map<String, Long> ordersByStatus;
+    private List<CategorySales> topProducts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate day;
+        private long orders;
+        private BigDecimal revenue;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategorySales {
+        private Long categoryId; // null for products without a category
+        private String categoryName;
+        private List<ProductSales> products;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductSales {
+        private Long productId;
+        private String name;
+        private long units;
+        private BigDecimal revenue;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.pcshop.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search page plus facet counts for the whole result set. Facets are only
+ * computed for the first page (no cursor) and are null on later pages.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class SearchPage<T> extends CursorPage<T> {
+    private ProductFacets facets;
+
+    public SearchPage(CursorPage<T> page, ProductFacets facets) {
+        super(page.getItems(), page.getNextCursor(), page.getSize());
+        this.facets = facets;
+    }
+}
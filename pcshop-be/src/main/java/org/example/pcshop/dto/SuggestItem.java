@@ -0,0 +1,18 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestItem {
+    private String type; // PRODUCT, CATEGORY, KEYWORD
+    private Long id; // null for keywords
+    private String text;
+    private String imageUrl; // products only
+    private BigDecimal price; // products only
+}
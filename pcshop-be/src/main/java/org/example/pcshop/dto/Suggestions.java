@@ -0,0 +1,16 @@
+package org.example.pcshop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestions {
+    private List<SuggestItem> products;
+    private List<SuggestItem> categories;
+    private List<SuggestItem> keywords;
+}
@@ -0,0 +1,78 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A finalized order moved out of {@code orders} by OrderArchiveService. Same
+ * columns and ids as the live row, but no foreign keys and only the indexes
+ * the customer's history and the admin search read, so the live tables stay
+ * small.
+ */
+@Entity
+@Data
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_archive_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_archive_status_created_id", columnList = "status, created_at, id")
+})
+public class ArchivedOrder {
+    @Id
+    private Long id; // the original orders.id
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @NotFound(action = NotFoundAction.IGNORE) // null once the account is deleted
+    private User user;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items;
+
+    private BigDecimal totalPrice;
+    private String status;
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    private String fullName;
+    private String phoneNumber;
+    private String shippingAddress;
+    private String paymentMethod;
+    private String note;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Detached copy in the live shape, for callers that render Order
+    public Order toOrder() {
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setTotalPrice(totalPrice);
+        order.setStatus(status);
+        order.setVersion(version);
+        order.setCreatedAt(createdAt);
+        order.setFullName(fullName);
+        order.setPhoneNumber(phoneNumber);
+        order.setShippingAddress(shippingAddress);
+        order.setPaymentMethod(paymentMethod);
+        order.setNote(note);
+        order.setItems(items == null ? List.of() : items.stream().map(archived -> {
+            OrderItem item = new OrderItem();
+            item.setId(archived.getId());
+            item.setOrder(order);
+            item.setProduct(archived.getProduct());
+            item.setVariant(archived.getVariant());
+            item.setQuantity(archived.getQuantity());
+            item.setPrice(archived.getPrice());
+            return item;
+        }).toList());
+        return order;
+    }
+}
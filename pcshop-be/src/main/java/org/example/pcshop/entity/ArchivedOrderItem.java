@@ -0,0 +1,38 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+@Entity
+@Data
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+    @Id
+    private Long id; // the original order_items.id
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
+    private ArchivedOrder order;
+
+    // No constraints: products may be deleted long after the order was archived, and then read as null
+    @ManyToOne
+    @JoinColumn(name = "product_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @NotFound(action = NotFoundAction.IGNORE)
+    private Product product;
+
+    @ManyToOne
+    @JoinColumn(name = "variant_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @NotFound(action = NotFoundAction.IGNORE)
+    private ProductVariant variant;
+
+    private int quantity;
+    private BigDecimal price;
+}
@@ -3,6 +3,8 @@ package org.example.pcshop.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Data
 @Table(name = "banners")
@@ -19,4 +21,13 @@ public class Banner {
 
     private boolean active = true;
     private int displayOrder;
+
+    // Read by ResourceVersions for the banners ETag, not part of the JSON
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    public void setLastUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -30,4 +31,12 @@ public class Category {
     @com.fasterxml.jackson.annotation.JsonIgnore
     private List<Product> products;
 
+    // Read by ResourceVersions for the categories ETag, not part of the JSON
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    public void setLastUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
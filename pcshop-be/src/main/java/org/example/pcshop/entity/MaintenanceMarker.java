@@ -0,0 +1,25 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named number that background jobs keep between restarts, e.g. how far a
+ * backfill got or which parser version produced the stored rows.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "maintenance_markers")
+public class MaintenanceMarker {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Long value;
+}
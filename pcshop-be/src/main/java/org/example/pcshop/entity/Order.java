@@ -1,5 +1,6 @@
 package org.example.pcshop.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.math.BigDecimal;
@@ -8,10 +9,17 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Admin order search: each filter column leads, then the newest-first keyset (created_at, id)
+        @Index(name = "idx_orders_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_payment_created_id", columnList = "payment_method, created_at, id")
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -23,11 +31,21 @@ public class Order {
 
     private BigDecimal totalPrice;
 
-    private String status; // PENDING, COMPLETED, CANCELLED
+    private String status; // an OrderStatus name; change it through OrderStatusService
+
+    // Bumped by every status change; stale writers fail their compare-and-set instead of overwriting
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // True while the order holds stock taken at checkout; orders placed before reservation existed never did
+    @Column(nullable = false, columnDefinition = "bit not null default 0")
+    @JsonIgnore
+    private Boolean stockReserved = false;
+
     private String fullName;
     private String phoneNumber;
     private String shippingAddress;
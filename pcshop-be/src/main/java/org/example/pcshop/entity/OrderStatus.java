@@ -0,0 +1,35 @@
+package org.example.pcshop.entity;
+
+/**
+ * Order lifecycle: PENDING → CONFIRMED → SHIPPING → COMPLETED, with
+ * CANCELLED reachable from any state before COMPLETED. Stored by name in
+ * orders.status.
+ */
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPING,
+    COMPLETED,
+    CANCELLED;
+
+    public boolean canMoveTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == CONFIRMED || target == CANCELLED;
+            case CONFIRMED -> target == SHIPPING || target == CANCELLED;
+            case SHIPPING -> target == COMPLETED || target == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
+
+    // null for values written before the state machine existed
+    public static OrderStatus of(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pending side effect of a committed change, e.g. "send the confirmation
+ * email for order 42". Rows are inserted in the same transaction as the change
+ * (one per subscribed handler), claimed by OutboxWorker and deleted once
+ * handled; rows that keep failing end up as FAILED with the last error.
+ */
+@Entity
+@Data
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_due", columnList = "status, available_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", length = 64, nullable = false)
+    private String eventType;
+
+    @Column(length = 64, nullable = false)
+    private String handler;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(length = 16, nullable = false)
+    private String status; // PENDING, FAILED
+
+    private int attempts;
+
+    // Not handed out before this time; also serves as the lease while a worker holds the row
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
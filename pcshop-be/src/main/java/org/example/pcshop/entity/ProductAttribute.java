@@ -0,0 +1,59 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One key/value pair parsed out of a product's (or one of its variants')
+ * specifications text, e.g. "RAM: 16GB" becomes name "ram", valueText "16gb",
+ * valueNum 16, unit "gb". Sizes are stored in GB and frequencies in MHz so
+ * range filters compare like with like. Maintained by ProductAttributeService.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ProductAttribute.Key.class)
+@Table(name = "product_attributes", indexes = {
+        @Index(name = "idx_product_attributes_num", columnList = "name, value_num, product_id"),
+        @Index(name = "idx_product_attributes_text", columnList = "name, value_text, product_id")
+})
+public class ProductAttribute {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "variant_id")
+    private Long variantId; // 0 for the product's own specifications
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "value_text")
+    private String valueText;
+
+    @Column(name = "value_num", precision = 19, scale = 4)
+    private BigDecimal valueNum;
+
+    @Column(length = 16)
+    private String unit;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long productId;
+        private Long variantId;
+        private String name;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Units and revenue sold per product per day, counting every order that is
+ * not cancelled. The category is the product's category when the order was
+ * placed. Maintained by SalesRollupService.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(SalesDailyProduct.Key.class)
+@Table(name = "sales_daily_product")
+public class SalesDailyProduct {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    private long units;
+
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate day;
+        private Long productId;
+    }
+}
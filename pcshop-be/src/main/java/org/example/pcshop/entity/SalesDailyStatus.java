@@ -0,0 +1,49 @@
+package org.example.pcshop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order count and order value per day and current status. Each (day, status)
+ * is split over a few slots picked by order id, so concurrent checkouts do not
+ * all wait on one row; readers sum the slots. Maintained by SalesRollupService.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(SalesDailyStatus.Key.class)
+@Table(name = "sales_daily_status")
+public class SalesDailyStatus {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(length = 32)
+    private String status;
+
+    @Id
+    private int slot;
+
+    private long orders;
+
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate day;
+        private String status;
+        private int slot;
+    }
+}
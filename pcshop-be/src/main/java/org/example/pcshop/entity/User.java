@@ -1,5 +1,6 @@
 package org.example.pcshop.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +21,7 @@ public class User implements UserDetails {
     @Column(unique = true, nullable = true)
     private String username;
     @Column(nullable = true)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepted on register/update, never serialized
     private String password;
     private String name;
     private String avatar;
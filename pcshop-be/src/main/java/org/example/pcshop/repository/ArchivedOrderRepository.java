@@ -0,0 +1,20 @@
+package org.example.pcshop.repository;
+
+import org.example.pcshop.entity.ArchivedOrder;
+import org.example.pcshop.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    @EntityGraph(attributePaths = {"items"})
+    List<ArchivedOrder> findByUserOrderByCreatedAtDesc(User user);
+
+    @EntityGraph(attributePaths = {"user", "items", "items.product", "items.variant"})
+    Optional<ArchivedOrder> findDetailById(Long id);
+
+    @Query("select i.product.id, sum(i.quantity) from ArchivedOrderItem i group by i.product.id")
+    List<Object[]> sumQuantityByProduct();
+}
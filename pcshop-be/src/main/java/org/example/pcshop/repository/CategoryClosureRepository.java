@@ -0,0 +1,13 @@
+package org.example.pcshop.repository;
+
+import org.example.pcshop.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    @Modifying
+    @Query("delete from CategoryClosure")
+    void deleteAllRows();
+}
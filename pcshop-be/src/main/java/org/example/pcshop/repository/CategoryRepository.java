@@ -2,7 +2,14 @@ package org.example.pcshop.repository;
 
 import org.example.pcshop.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     java.util.Optional<Category> findByName(String name);
+
+    // [id, name, parentId] rows, enough to build the tree without loading entities
+    @Query("select c.id, c.name, p.id from Category c left join c.parent p order by c.id")
+    List<Object[]> findAllTreeRows();
 }
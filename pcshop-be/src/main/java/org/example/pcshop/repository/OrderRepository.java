@@ -2,9 +2,19 @@ package org.example.pcshop.repository;
 
 import org.example.pcshop.entity.Order;
 import org.example.pcshop.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     List<Order> findByUserOrderByCreatedAtDesc(User user);
+
+    // One order with everything the detail view renders, in a single select
+    @EntityGraph(attributePaths = {"user", "items", "items.product", "items.variant"})
+    Optional<Order> findDetailById(Long id);
+
+    @Query("select i.product.id, sum(i.quantity) from OrderItem i group by i.product.id")
+    List<Object[]> sumQuantityByProduct();
 }
@@ -0,0 +1,16 @@
+package org.example.pcshop.repository;
+
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.User;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads that span live and archived orders. Archived ones come back as
+ * detached {@link Order} copies; they are finalized, so nothing saves them.
+ */
+public interface OrderRepositoryCustom {
+    Optional<Order> findDetailIncludingArchive(Long id);
+
+    List<Order> findByUserIncludingArchive(User user);
+}
@@ -0,0 +1,48 @@
+package org.example.pcshop.repository;
+
+import org.example.pcshop.entity.ArchivedOrder;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.User;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getId, Comparator.reverseOrder());
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    // Lazy: OrderRepository is the repository this fragment is part of
+    OrderRepositoryCustomImpl(@Lazy OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+    }
+
+    @Override
+    public Optional<Order> findDetailIncludingArchive(Long id) {
+        Optional<Order> live = orderRepository.findDetailById(id);
+        if (live.isPresent()) {
+            return live;
+        }
+        return archivedOrderRepository.findDetailById(id).map(ArchivedOrder::toOrder);
+    }
+
+    @Override
+    public List<Order> findByUserIncludingArchive(User user) {
+        List<Order> orders = new ArrayList<>(orderRepository.findByUserOrderByCreatedAtDesc(user));
+        List<ArchivedOrder> archived = archivedOrderRepository.findByUserOrderByCreatedAtDesc(user);
+        if (archived.isEmpty()) {
+            return orders;
+        }
+        archived.forEach(a -> orders.add(a.toOrder()));
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+}
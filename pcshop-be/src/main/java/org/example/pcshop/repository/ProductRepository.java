@@ -1,18 +1,36 @@
 package org.example.pcshop.repository;
 
 import org.example.pcshop.entity.Product;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     List<Product> findByNameContainingIgnoreCase(String name);
 
-    List<Product> findByCategory_Id(Long categoryId);
+    // Everything the detail page serializes in one select; variants follow in one batched select
+    @EntityGraph(attributePaths = { "category", "category.parent", "images" })
+    Optional<Product> findDetailById(Long id);
 
-    List<Product> findByCategory_IdOrCategory_Parent_Id(Long categoryId, Long parentId);
+    // Full-catalog reads (AI assistant) only touch category, so join it instead of one select per row
+    @Override
+    @EntityGraph(attributePaths = { "category", "category.parent" })
+    List<Product> findAll();
 
-    List<Product> findByPriceBetween(BigDecimal min, BigDecimal max);
+    // Cart pricing: every referenced product and its category chain in one select
+    @EntityGraph(attributePaths = { "category", "category.parent" })
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    // Only the text columns, for building the in-memory search index
+    @Query("select p.id, p.name, p.description, p.specifications from Product p")
+    List<Object[]> findAllSearchText();
+
+    @Query("select p.id, p.name, p.imageUrl, p.price from Product p")
+    List<Object[]> findAllSuggestionRows();
 }
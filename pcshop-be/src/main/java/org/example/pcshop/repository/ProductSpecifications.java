@@ -0,0 +1,112 @@
+package org.example.pcshop.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.pcshop.entity.CategoryClosure;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (value, id) in the listing order.
+     * MySQL sorts NULL first ascending and last descending, so a NULL sort key
+     * is handled explicitly instead of letting the comparison drop those rows.
+     */
+    public static <C extends Comparable<? super C>> Specification<Product> after(
+            String attribute, C value, Long lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<C> key = root.get(attribute);
+            Path<Long> id = root.get("id");
+            if ("id".equals(attribute)) {
+                return ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            }
+            Predicate tieBreak = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (value == null) {
+                Predicate sameNull = cb.and(cb.isNull(key), tieBreak);
+                return ascending ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+            }
+            Predicate past = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate same = cb.and(cb.equal(key, value), tieBreak);
+            return ascending ? cb.or(past, same) : cb.or(past, same, cb.isNull(key));
+        };
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    // Category and every descendant, as a semi-join on the closure table's primary key
+    public static Specification<Product> inCategorySubtree(Long categoryId) {
+        return (root, query, cb) -> {
+            Subquery<Long> descendants = query.subquery(Long.class);
+            Root<CategoryClosure> closure = descendants.from(CategoryClosure.class);
+            descendants.select(closure.get("descendantId"))
+                    .where(cb.equal(closure.get("ancestorId"), categoryId));
+            return root.get("category").get("id").in(descendants);
+        };
+    }
+
+    /**
+     * Products having a parsed attribute that satisfies the comparison. With a
+     * number the comparison is on value_num (and on unit when the filter gave
+     * one, so "27 inch" never matches 144 Hz), otherwise value_text must match;
+     * either way it is a range scan on an index that starts with the name.
+     */
+    public static Specification<Product> attribute(String name, String operator, BigDecimal number, String unit,
+            String text) {
+        return (root, query, cb) -> {
+            Subquery<Long> matching = query.subquery(Long.class);
+            Root<ProductAttribute> attribute = matching.from(ProductAttribute.class);
+            Predicate value;
+            if (number == null) {
+                value = cb.equal(attribute.get("valueText"), text);
+            } else {
+                Path<BigDecimal> num = attribute.get("valueNum");
+                value = switch (operator) {
+                    case ">=" -> cb.greaterThanOrEqualTo(num, number);
+                    case "<=" -> cb.lessThanOrEqualTo(num, number);
+                    case ">" -> cb.greaterThan(num, number);
+                    case "<" -> cb.lessThan(num, number);
+                    default -> cb.equal(num, number);
+                };
+            }
+            if (number != null && unit != null) {
+                value = cb.and(value, cb.equal(attribute.get("unit"), unit));
+            }
+            matching.select(attribute.get("productId"))
+                    .where(cb.equal(attribute.get("name"), name), value);
+            return root.get("id").in(matching);
+        };
+    }
+
+    // Price filters match when any variant's price falls in range, using the denormalized min/max columns
+    public static Specification<Product> priceAtLeast(BigDecimal min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("maxPrice"), min);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("minPrice"), max);
+    }
+
+    public static Specification<Product> wattageAtLeast(Integer min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("wattage"), min);
+    }
+
+    public static Specification<Product> wattageAtMost(Integer max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("wattage"), max);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("totalStock"), 0);
+    }
+}
@@ -1,12 +1,23 @@
 package org.example.pcshop.repository;
 
 import org.example.pcshop.entity.ProductVariant;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
     List<ProductVariant> findByProductId(Long productId);
+
+    // Cart pricing: variants with their products in one select
+    @EntityGraph(attributePaths = { "product", "product.category", "product.category.parent" })
+    List<ProductVariant> findByIdIn(Collection<Long> ids);
+
+    // Which of these products are sold only as variants
+    @Query("select distinct v.product.id from ProductVariant v where v.product.id in :productIds")
+    List<Long> findProductIdsWithVariants(Collection<Long> productIds);
 }
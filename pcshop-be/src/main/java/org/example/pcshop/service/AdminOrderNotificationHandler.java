@@ -0,0 +1,41 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Tells the shop's admin inbox about each new order; disabled while pcshop.mail.admin is empty
+@Component
+public class AdminOrderNotificationHandler implements OutboxHandler {
+
+    private final OrderRepository orderRepository;
+    private final EmailSender emailSender;
+    private final String adminAddress;
+
+    public AdminOrderNotificationHandler(OrderRepository orderRepository, EmailSender emailSender,
+            @Value("${pcshop.mail.admin:}") String adminAddress) {
+        this.orderRepository = orderRepository;
+        this.emailSender = emailSender;
+        this.adminAddress = adminAddress;
+    }
+
+    @Override
+    public String name() {
+        return "admin-order-notification";
+    }
+
+    @Override
+    public Set<String> eventTypes() {
+        return adminAddress.isBlank() ? Set.of() : Set.of(OutboxService.ORDER_PLACED);
+    }
+
+    @Override
+    public void handle(OutboxService.Message message) {
+        orderRepository.findById(message.aggregateId()).ifPresent(order -> emailSender.send(adminAddress,
+                "New order #" + order.getId(),
+                order.getFullName() + " (" + order.getPhoneNumber() + ") ordered " + order.getTotalPrice()
+                        + " ₫, paying by " + order.getPaymentMethod() + "."));
+    }
+}
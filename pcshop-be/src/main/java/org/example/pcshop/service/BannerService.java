@@ -8,9 +8,11 @@ import java.util.List;
 @Service
 public class BannerService {
     private final BannerRepository bannerRepository;
+    private final ResourceVersions resourceVersions;
 
-    public BannerService(BannerRepository bannerRepository) {
+    public BannerService(BannerRepository bannerRepository, ResourceVersions resourceVersions) {
         this.bannerRepository = bannerRepository;
+        this.resourceVersions = resourceVersions;
     }
 
     public List<Banner> getAllBanners() {
@@ -22,10 +24,13 @@ public class BannerService {
     }
 
     public Banner saveBanner(Banner banner) {
-        return bannerRepository.save(banner);
+        Banner saved = bannerRepository.save(banner);
+        resourceVersions.touch(ResourceVersions.BANNERS);
+        return saved;
     }
 
     public void deleteBanner(Long id) {
         bannerRepository.deleteById(id);
+        resourceVersions.touch(ResourceVersions.BANNERS);
     }
 }
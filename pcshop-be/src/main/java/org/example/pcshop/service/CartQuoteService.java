@@ -0,0 +1,134 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CartQuote;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductVariant;
+import org.example.pcshop.repository.ProductRepository;
+import org.example.pcshop.repository.ProductVariantRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Prices a cart from the database in a fixed number of selects (products,
+ * which of them have variants, variants), whatever the number of lines. Order creation uses the same path, so the
+ * checkout page and the placed order can never disagree on a price.
+ */
+@Service
+public class CartQuoteService {
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_QUANTITY = "INVALID_QUANTITY";
+    public static final String OUT_OF_STOCK = "OUT_OF_STOCK";
+    // A plain line for a product that has variants: its stock lives on the variants, so one must be picked
+    public static final String VARIANT_REQUIRED = "VARIANT_REQUIRED";
+    public static final int MAX_LINES = 200;
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository productVariantRepository;
+
+    public CartQuoteService(ProductRepository productRepository, ProductVariantRepository productVariantRepository) {
+        this.productRepository = productRepository;
+        this.productVariantRepository = productVariantRepository;
+    }
+
+    // One priced cart line; product/variant are null when the id did not resolve
+    public record PricedLine(Long productId, Long variantId, Product product, ProductVariant variant,
+            int quantity, BigDecimal unitPrice, String problem) {
+
+        public BigDecimal lineTotal() {
+            return unitPrice == null ? BigDecimal.ZERO : unitPrice.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+
+    /**
+     * @param items        productId -> quantity, for products bought without a variant
+     * @param variantItems variantId -> quantity
+     */
+    @Transactional(readOnly = true)
+    public List<PricedLine> price(Map<Long, Integer> items, Map<Long, Integer> variantItems) {
+        Map<Long, Integer> plain = items != null ? items : Map.of();
+        Map<Long, Integer> picked = variantItems != null ? variantItems : Map.of();
+        if (plain.size() + picked.size() > MAX_LINES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A cart holds at most " + MAX_LINES + " lines");
+        }
+
+        Map<Long, Product> products = plain.isEmpty() ? Map.of()
+                : productRepository.findByIdIn(plain.keySet()).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Set<Long> withVariants = plain.isEmpty() ? Set.of()
+                : new HashSet<>(productVariantRepository.findProductIdsWithVariants(plain.keySet()));
+        Map<Long, ProductVariant> variants = picked.isEmpty() ? Map.of()
+                : productVariantRepository.findByIdIn(picked.keySet()).stream()
+                        .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+
+        List<PricedLine> lines = new ArrayList<>(plain.size() + picked.size());
+        plain.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            int units = quantity == null ? 0 : quantity;
+            if (product == null) {
+                lines.add(new PricedLine(productId, null, null, null, units, null, NOT_FOUND));
+                return;
+            }
+            String problem = withVariants.contains(productId) ? VARIANT_REQUIRED
+                    : problem(units, product.getTotalStock());
+            lines.add(new PricedLine(productId, null, product, null, units, product.getPrice(), problem));
+        });
+        picked.forEach((variantId, quantity) -> {
+            ProductVariant variant = variants.get(variantId);
+            int units = quantity == null ? 0 : quantity;
+            if (variant == null) {
+                lines.add(new PricedLine(null, variantId, null, null, units, null, NOT_FOUND));
+                return;
+            }
+            Product product = variant.getProduct();
+            BigDecimal price = variant.getPrice() != null ? variant.getPrice() : product.getPrice();
+            lines.add(new PricedLine(product.getId(), variantId, product, variant, units, price,
+                    problem(units, variant.getStockQuantity())));
+        });
+        return lines;
+    }
+
+    @Transactional(readOnly = true)
+    public CartQuote quote(Map<Long, Integer> items, Map<Long, Integer> variantItems) {
+        List<PricedLine> priced = price(items, variantItems);
+        List<CartQuote.Line> lines = new ArrayList<>(priced.size());
+        BigDecimal total = BigDecimal.ZERO;
+        int totalQuantity = 0;
+        boolean orderable = !priced.isEmpty();
+        for (PricedLine line : priced) {
+            Product product = line.product();
+            ProductVariant variant = line.variant();
+            String name = product == null ? null
+                    : variant != null && variant.getColor() != null ? product.getName() + " (" + variant.getColor() + ")"
+                    : product.getName();
+            String imageUrl = variant != null && variant.getImageUrl() != null ? variant.getImageUrl()
+                    : product == null ? null : product.getImageUrl();
+            Integer available = variant != null ? variant.getStockQuantity()
+                    : product == null ? null : product.getTotalStock();
+            lines.add(new CartQuote.Line(line.productId(), line.variantId(), name, imageUrl, line.unitPrice(),
+                    line.quantity(), line.lineTotal(), available, line.problem()));
+            total = total.add(line.lineTotal());
+            totalQuantity += line.quantity();
+            orderable &= line.problem() == null;
+        }
+        return new CartQuote(lines, totalQuantity, total, orderable);
+    }
+
+    private static String problem(int quantity, Integer available) {
+        if (quantity <= 0) {
+            return INVALID_QUANTITY;
+        }
+        return available != null && available < quantity ? OUT_OF_STOCK : null;
+    }
+}
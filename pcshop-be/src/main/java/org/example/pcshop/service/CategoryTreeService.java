@@ -0,0 +1,116 @@
+package org.example.pcshop.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.dto.CategoryNode;
+import org.example.pcshop.entity.CategoryClosure;
+import org.example.pcshop.repository.CategoryClosureRepository;
+import org.example.pcshop.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Owns the category closure table and an immutable in-memory copy of the
+ * tree. Both are rebuilt from the categories table at startup (which also
+ * backfills the closure for existing rows) and after every category write.
+ */
+@Service
+@Slf4j
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile List<CategoryNode> categories = List.of();
+
+    public CategoryTreeService(CategoryRepository categoryRepository,
+            CategoryClosureRepository categoryClosureRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Flat list, each entry with its parent and nested children, in id order
+    public List<CategoryNode> categories() {
+        return categories;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, String> names = new LinkedHashMap<>();
+        Map<Long, Long> parents = new HashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Object[] row : categoryRepository.findAllTreeRows()) {
+            Long id = (Long) row[0];
+            names.put(id, (String) row[1]);
+            if (row[2] != null) {
+                parents.put(id, (Long) row[2]);
+                children.computeIfAbsent((Long) row[2], k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        // Walk up from every category; the seen-set stops on a parent cycle
+        List<CategoryClosure> links = new ArrayList<>();
+        for (Long id : names.keySet()) {
+            Set<Long> seen = new HashSet<>();
+            Long current = id;
+            int depth = 0;
+            while (current != null && names.containsKey(current) && seen.add(current)) {
+                links.add(new CategoryClosure(current, id, depth++));
+                current = parents.get(current);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryClosureRepository.deleteAllRows();
+            links.forEach(entityManager::persist);
+        });
+
+        Map<Long, CategoryNode> nested = new HashMap<>();
+        List<CategoryNode> flat = new ArrayList<>();
+        for (Map.Entry<Long, String> category : names.entrySet()) {
+            Long parentId = parents.get(category.getKey());
+            CategoryNode.ParentRef parent = parentId == null || !names.containsKey(parentId)
+                    ? null
+                    : new CategoryNode.ParentRef(parentId, names.get(parentId));
+            flat.add(new CategoryNode(category.getKey(), category.getValue(), parent,
+                    childNodes(category.getKey(), names, children, nested, new HashSet<>())));
+        }
+        categories = List.copyOf(flat);
+        log.info("Category tree rebuilt: {} categories, {} closure rows", names.size(), links.size());
+    }
+
+    private List<CategoryNode> childNodes(Long id, Map<Long, String> names, Map<Long, List<Long>> children,
+            Map<Long, CategoryNode> nested, Set<Long> path) {
+        if (!path.add(id)) {
+            return List.of();
+        }
+        List<CategoryNode> nodes = new ArrayList<>();
+        for (Long childId : children.getOrDefault(id, List.of())) {
+            CategoryNode node = nested.get(childId);
+            if (node == null) {
+                node = new CategoryNode(childId, names.get(childId), null,
+                        childNodes(childId, names, children, nested, path));
+                nested.put(childId, node);
+            }
+            nodes.add(node);
+        }
+        path.remove(id);
+        return List.copyOf(nodes);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.pcshop.service;
+
+/**
+ * Outgoing mail. The default implementation only logs; tests and deployments
+ * with an SMTP relay register their own {@code @Primary} bean.
+ */
+public interface EmailSender {
+
+    void send(String to, String subject, String body);
+}
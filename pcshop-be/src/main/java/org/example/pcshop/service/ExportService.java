@@ -0,0 +1,177 @@
+package org.example.pcshop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Admin exports written straight from a forward-only JDBC result set to the
+ * response. No entities are loaded, so memory stays flat however many rows
+ * there are: MySQL streams rows one at a time when the fetch size is
+ * {@link Integer#MIN_VALUE}.
+ */
+@Service
+public class ExportService {
+
+    private static final String PRODUCTS_SQL = "select p.id, p.name, p.price, p.quantity, p.wattage, "
+            + "p.category_id, c.name as category, p.image_url, p.updated_at "
+            + "from products p left join categories c on c.id = p.category_id order by p.id";
+
+    // One row per order line; orders without items still appear once. Live orders first, then the archive
+    private static final String ORDERS_SQL = "select o.id as order_id, o.created_at, o.status, o.user_id, "
+            + "o.full_name, o.phone_number, o.shipping_address, o.payment_method, o.total_price, "
+            + "i.product_id, p.name as product_name, i.quantity, i.price "
+            + "from orders o left join order_items i on i.order_id = o.id "
+            + "left join products p on p.id = i.product_id order by o.id, i.id";
+    private static final String ARCHIVED_ORDERS_SQL = "select o.id as order_id, o.created_at, o.status, o.user_id, "
+            + "o.full_name, o.phone_number, o.shipping_address, o.payment_method, o.total_price, "
+            + "i.product_id, p.name as product_name, i.quantity, i.price "
+            + "from orders_archive o left join order_items_archive i on i.order_id = o.id "
+            + "left join products p on p.id = i.product_id order by o.id, i.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ExportService(DataSource dataSource) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void exportProducts(OutputStream out, String format) {
+        export(out, format, PRODUCTS_SQL);
+    }
+
+    public void exportOrders(OutputStream out, String format) {
+        export(out, format, ORDERS_SQL, ARCHIVED_ORDERS_SQL);
+    }
+
+    // Streams each query in turn into one document; the CSV header comes from the first row
+    private void export(OutputStream out, String format, String... queries) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            JsonGenerator json = "ndjson".equals(format) ? objectMapper.getFactory().createGenerator(writer) : null;
+            RowWriter rows = json != null ? new NdjsonRowWriter(json, writer) : new CsvRowWriter(writer);
+            for (String sql : queries) {
+                streamingJdbcTemplate.query(sql, rs -> {
+                    try {
+                        rows.write(rs);
+                    } catch (IOException e) {
+                        // client went away; abort the query instead of reading the rest of the table
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            rows.finish();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toString();
+        }
+        return value;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            if (!headerWritten) {
+                for (int i = 1; i <= columns; i++) {
+                    writeField(i, meta.getColumnLabel(i));
+                }
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+            for (int i = 1; i <= columns; i++) {
+                Object value = value(rs, i);
+                writeField(i, value == null ? "" : value.toString());
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(int column, String value) throws IOException {
+            if (column > 1) {
+                writer.write(',');
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+    }
+
+    private static class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator json;
+        private final Writer writer;
+
+        private boolean wroteRow;
+
+        NdjsonRowWriter(JsonGenerator json, Writer writer) {
+            this.json = json;
+            this.writer = writer;
+            json.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            json.writeStartObject();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                json.writeObjectField(meta.getColumnLabel(i), value(rs, i));
+            }
+            json.writeEndObject();
+            wroteRow = true;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+            if (wroteRow) {
+                writer.write('\n');
+            }
+        }
+    }
+}
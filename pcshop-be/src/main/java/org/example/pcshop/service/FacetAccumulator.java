@@ -0,0 +1,74 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.ProductFacets;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds matching rows into every facet at once, so the sidebar counts cost
+ * one pass instead of one GROUP BY per facet.
+ */
+public class FacetAccumulator {
+
+    // Bucket edges in VND, matching the price ranges shown in the shop
+    static final BigDecimal[] PRICE_EDGES = {
+            new BigDecimal("5000000"),
+            new BigDecimal("10000000"),
+            new BigDecimal("20000000"),
+            new BigDecimal("30000000"),
+            new BigDecimal("50000000")
+    };
+
+    private final Map<Long, Long> categories = new HashMap<>();
+    private final long[] priceCounts = new long[PRICE_EDGES.length + 1];
+    private long total;
+    private Integer minWattage;
+    private Integer maxWattage;
+    private long inStock;
+    private long outOfStock;
+
+    public void accept(Long categoryId, BigDecimal price, Integer wattage, Integer quantity) {
+        total++;
+        if (categoryId != null) {
+            categories.merge(categoryId, 1L, Long::sum);
+        }
+        if (price != null) {
+            int bucket = 0;
+            while (bucket < PRICE_EDGES.length && price.compareTo(PRICE_EDGES[bucket]) >= 0) {
+                bucket++;
+            }
+            priceCounts[bucket]++;
+        }
+        if (wattage != null) {
+            minWattage = minWattage == null ? wattage : Math.min(minWattage, wattage);
+            maxWattage = maxWattage == null ? wattage : Math.max(maxWattage, wattage);
+        }
+        if (quantity != null && quantity > 0) {
+            inStock++;
+        } else {
+            outOfStock++;
+        }
+    }
+
+    public ProductFacets result() {
+        List<ProductFacets.PriceBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < priceCounts.length; i++) {
+            BigDecimal from = i == 0 ? null : PRICE_EDGES[i - 1];
+            BigDecimal to = i == PRICE_EDGES.length ? null : PRICE_EDGES[i];
+            buckets.add(new ProductFacets.PriceBucket(from, to, priceCounts[i]));
+        }
+        ProductFacets facets = new ProductFacets();
+        facets.setTotal(total);
+        facets.setCategories(categories);
+        facets.setPriceBuckets(buckets);
+        facets.setMinWattage(minWattage);
+        facets.setMaxWattage(maxWattage);
+        facets.setInStock(inStock);
+        facets.setOutOfStock(outOfStock);
+        return facets;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the pooled id sequences in step with the data. MySQL has no sequences,
+ * so Hibernate keeps each one as a one-row table ({@code next_val}); a pooled
+ * read of value v hands out ids {@code (v - 50, v]} and moves the table to v + 50.
+ *
+ * <p>Tables that used AUTO_INCREMENT before keep their rows, so on startup each
+ * sequence is moved past {@code max(id)} before anything is inserted. Bulk
+ * writers outside Hibernate reserve their ids here with {@link #reserve}.
+ */
+@Component
+@Slf4j
+public class IdSequences {
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    public static final String PRODUCTS = "products_seq";
+    public static final String PRODUCT_IMAGES = "product_images_seq";
+    public static final String PRODUCT_VARIANTS = "product_variants_seq";
+    public static final String ORDERS = "orders_seq";
+    public static final String ORDER_ITEMS = "order_items_seq";
+
+    // sequence table -> table whose ids it generates
+    private static final Map<String, String> TABLES = Map.of(
+            PRODUCTS, "products",
+            PRODUCT_IMAGES, "product_images",
+            PRODUCT_VARIANTS, "product_variants",
+            ORDERS, "orders",
+            ORDER_ITEMS, "order_items");
+
+    // Archived rows keep their ids, so those must not be handed out again either
+    private static final Map<String, String> ARCHIVES = Map.of(
+            "orders", "orders_archive",
+            "order_items", "order_items_archive");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public IdSequences(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Runs before CommandLineRunners (DataSeeder), i.e. before the first generated id
+    @EventListener(ContextRefreshedEvent.class)
+    public void alignWithExistingRows() {
+        TABLES.forEach((sequence, table) -> requiresNew.executeWithoutResult(status -> {
+            String archive = ARCHIVES.get(table);
+            long maxId = jdbcTemplate.queryForObject(archive == null
+                    ? "select coalesce(max(id), 0) from " + table
+                    : "select greatest((select coalesce(max(id), 0) from " + table + "), "
+                            + "(select coalesce(max(id), 0) from " + archive + "))", Long.class);
+            // The first pooled block Hibernate takes from value v is (v - 50, v]; it must start above maxId
+            long floor = maxId + ALLOCATION_SIZE + 1;
+            List<Long> current = jdbcTemplate.queryForList("select next_val from " + sequence + " for update",
+                    Long.class);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("insert into " + sequence + " (next_val) values (?)", floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update("update " + sequence + " set next_val = ?", floor);
+                log.info("Moved {} from {} to {} (max id in {} is {})", sequence, current.get(0), floor, table, maxId);
+            }
+        }));
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids and returns the first one. Commits
+     * on its own so the sequence row is not locked for the caller's transaction.
+     */
+    public long reserve(String sequence, int count) {
+        if (!TABLES.containsKey(sequence)) {
+            throw new IllegalArgumentException("Unknown sequence " + sequence);
+        }
+        return requiresNew.execute(status -> {
+            long value = jdbcTemplate.queryForObject("select next_val from " + sequence + " for update", Long.class);
+            jdbcTemplate.update("update " + sequence + " set next_val = ?", value + count);
+            // Hibernate's next block from value + count is (value + count - 50, value + count]
+            return value - ALLOCATION_SIZE + 1;
+        });
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.OrderItem;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Maintains the denormalized min_price / max_price / total_stock columns on
+ * products. Entity writes go through Product.refreshEffectiveValues(); this
+ * covers SQL-level changes to variant rows and products saved before the
+ * columns existed. It also reserves stock for orders and releases it again.
+ */
+@Service
+@Slf4j
+public class InventoryService {
+
+    // Recomputes from product_variants; products without variants fall back to price/quantity.
+    // Every products write here also stamps updated_at, which the catalog ETags are built from
+    private static final String REFRESH = "update products p left join ("
+            + "select product_id, min(price) as min_price, max(price) as max_price, "
+            + "sum(coalesce(stock_quantity, 0)) as stock from product_variants group by product_id"
+            + ") v on v.product_id = p.id "
+            + "set p.min_price = coalesce(v.min_price, p.price), p.max_price = coalesce(v.max_price, p.price), "
+            + "p.total_stock = case when v.product_id is null then p.quantity else v.stock end, p.updated_at = ? ";
+
+    // Conditional decrements: the WHERE re-checks stock under the row lock, so there is no read-modify-write race
+    private static final String RESERVE_PRODUCT = "update products set total_stock = total_stock - ?, "
+            + "quantity = greatest(coalesce(quantity, 0) - ?, 0), updated_at = ? where id = ? and total_stock >= ?";
+    private static final String RESERVE_VARIANT = "update product_variants set stock_quantity = stock_quantity - ? "
+            + "where id = ? and stock_quantity >= ?";
+
+    private static final String RELEASE_PRODUCT = "update products set total_stock = total_stock + ?, "
+            + "quantity = coalesce(quantity, 0) + ?, updated_at = ? where id = ?";
+    private static final String RELEASE_VARIANT = "update product_variants "
+            + "set stock_quantity = coalesce(stock_quantity, 0) + ? where id = ?";
+
+    // Compare-and-set on the flag, so an order's units go back at most once
+    private static final String UNRESERVE_ORDER = "update orders set stock_reserved = 0 "
+            + "where id = ? and stock_reserved = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillEffectiveColumns() {
+        int updated = jdbcTemplate.update(REFRESH + "where p.min_price is null or p.total_stock is null", now());
+        if (updated > 0) {
+            log.info("Backfilled effective price/stock columns for {} products", updated);
+        }
+    }
+
+    /**
+     * Takes stock for an order inside the caller's transaction; any shortfall
+     * throws and rolls the whole order back. Rows are locked in one global
+     * order (products by id, then variants by id), so concurrent orders over
+     * the same items queue up instead of deadlocking.
+     *
+     * @param productUnits units per product id, variant lines included
+     * @param variantUnits units per variant id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(SortedMap<Long, Integer> productUnits, SortedMap<Long, Integer> variantUnits) {
+        // One batch per table; the batch runs its updates in the given (sorted) order
+        List<Long> productIds = new ArrayList<>(productUnits.keySet());
+        Timestamp now = now();
+        int[] reserved = jdbcTemplate.batchUpdate(RESERVE_PRODUCT, productUnits.entrySet().stream()
+                .map(e -> new Object[] { e.getValue(), e.getValue(), now, e.getKey(), e.getValue() })
+                .toList());
+        for (int i = 0; i < reserved.length; i++) {
+            if (reserved[i] == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough stock for product " + productIds.get(i));
+            }
+        }
+        if (variantUnits.isEmpty()) {
+            return;
+        }
+        List<Long> variantIds = new ArrayList<>(variantUnits.keySet());
+        reserved = jdbcTemplate.batchUpdate(RESERVE_VARIANT, variantUnits.entrySet().stream()
+                .map(e -> new Object[] { e.getValue(), e.getKey(), e.getValue() })
+                .toList());
+        for (int i = 0; i < reserved.length; i++) {
+            if (reserved[i] == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Not enough stock for variant " + variantIds.get(i));
+            }
+        }
+    }
+
+    /**
+     * Puts reserved stock back, e.g. for a cancelled order. Same lock order as
+     * {@link #reserve}, so a cancellation and a checkout never deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(SortedMap<Long, Integer> productUnits, SortedMap<Long, Integer> variantUnits) {
+        if (!productUnits.isEmpty()) {
+            Timestamp now = now();
+            jdbcTemplate.batchUpdate(RELEASE_PRODUCT, productUnits.entrySet().stream()
+                    .map(e -> new Object[] { e.getValue(), e.getValue(), now, e.getKey() })
+                    .toList());
+        }
+        if (!variantUnits.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_VARIANT, variantUnits.entrySet().stream()
+                    .map(e -> new Object[] { e.getValue(), e.getKey() })
+                    .toList());
+        }
+    }
+
+    /**
+     * Returns what {@code orders} reserved at checkout and clears their
+     * stock_reserved flag. Orders that never reserved (placed before
+     * reservation existed) or were already released are skipped. Returns the
+     * ids of the products whose stock went back up.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> releaseReserved(Collection<Order> orders) {
+        List<Order> candidates = orders.stream()
+                .filter(order -> Boolean.TRUE.equals(order.getStockReserved()))
+                .sorted(Comparator.comparing(Order::getId))
+                .toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        int[] cleared = jdbcTemplate.batchUpdate(UNRESERVE_ORDER, candidates.stream()
+                .map(order -> new Object[] { order.getId() })
+                .toList());
+        SortedMap<Long, Integer> productUnits = new TreeMap<>();
+        SortedMap<Long, Integer> variantUnits = new TreeMap<>();
+        for (int i = 0; i < cleared.length; i++) {
+            if (cleared[i] == 0) {
+                continue;
+            }
+            for (OrderItem item : candidates.get(i).getItems()) {
+                if (item.getProduct() != null) {
+                    productUnits.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+                }
+                if (item.getVariant() != null) {
+                    variantUnits.merge(item.getVariant().getId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        release(productUnits, variantUnits);
+        return productUnits.keySet();
+    }
+
+    // Caller provides the transaction, so the columns change together with the stock they summarize
+    public void refreshEffectiveColumns(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(productIds.size(), "?"));
+        List<Object> args = new ArrayList<>(productIds.size() + 1);
+        args.add(now());
+        args.addAll(productIds);
+        jdbcTemplate.update(REFRESH + "where p.id in (" + placeholders + ")", args.toArray());
+    }
+
+    // The JVM clock, as @PreUpdate uses, so SQL and entity writes order the same way in updated_at
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
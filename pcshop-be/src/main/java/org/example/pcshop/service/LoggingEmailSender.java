@@ -0,0 +1,15 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Default sender until an SMTP-backed one is wired in; a @Primary EmailSender bean replaces it
+@Component
+@Slf4j
+public class LoggingEmailSender implements EmailSender {
+
+    @Override
+    public void send(String to, String subject, String body) {
+        log.info("Email to {}: {}\n{}", to, subject, body);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves finalized orders (COMPLETED, CANCELLED) older than
+ * {@code pcshop.archive.after} from orders/order_items into
+ * orders_archive/order_items_archive, one chunk per transaction so locks stay
+ * short and a failure loses at most one chunk's progress. Finalized orders
+ * never change again, so nothing has to write to the archive afterwards;
+ * reads that need old orders go through OrderRepository's *IncludingArchive
+ * methods or union the two tables.
+ */
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    private static final List<String> FINAL = List.of(OrderStatus.COMPLETED.name(), OrderStatus.CANCELLED.name());
+
+    // One status at a time so the scan walks idx_orders_status_created_id in order
+    private static final String DUE = "select id from orders where status = ? and created_at < ? "
+            + "order by created_at, id limit ? for update skip locked";
+    private static final String COPY_ITEMS = "insert into order_items_archive "
+            + "(id, order_id, product_id, variant_id, quantity, price) "
+            + "select id, order_id, product_id, variant_id, quantity, price from order_items where order_id in (%s)";
+    private static final String COPY_ORDERS = "insert into orders_archive (id, user_id, total_price, status, version, "
+            + "created_at, full_name, phone_number, shipping_address, payment_method, note, archived_at) "
+            + "select id, user_id, total_price, status, version, created_at, full_name, phone_number, "
+            + "shipping_address, payment_method, note, ? from orders where id in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration after;
+    private final int chunkSize;
+
+    public OrderArchiveService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${pcshop.archive.enabled:true}") boolean enabled,
+            @Value("${pcshop.archive.after:180d}") Duration after,
+            @Value("${pcshop.archive.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.after = after;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${pcshop.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    // Archives everything past the configured age; returns the number of orders moved
+    public int archive() {
+        return archiveBefore(LocalDateTime.now().minus(after));
+    }
+
+    public int archiveBefore(LocalDateTime cutoff) {
+        long start = System.currentTimeMillis();
+        int moved = 0;
+        for (String status : FINAL) {
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(tx -> moveChunk(status, cutoff));
+                moved += chunk;
+            } while (chunk == chunkSize);
+        }
+        if (moved > 0) {
+            log.info("Archived {} orders created before {} in {} ms", moved, cutoff,
+                    System.currentTimeMillis() - start);
+        }
+        return moved;
+    }
+
+    // Runs in its own transaction: copy items and orders, then delete them from the live tables
+    private int moveChunk(String status, LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(DUE, Long.class, status, Timestamp.valueOf(cutoff), chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] idArgs = ids.toArray();
+        Object[] orderArgs = new Object[ids.size() + 1];
+        orderArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(idArgs, 0, orderArgs, 1, idArgs.length);
+
+        jdbcTemplate.update(String.format(COPY_ITEMS, placeholders), idArgs);
+        jdbcTemplate.update(String.format(COPY_ORDERS, placeholders), orderArgs);
+        jdbcTemplate.update("delete from order_items where order_id in (" + placeholders + ")", idArgs);
+        jdbcTemplate.update("delete from orders where id in (" + placeholders + ")", idArgs);
+        return ids.size();
+    }
+
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("liveOrders", jdbcTemplate.queryForObject("select count(*) from orders", Long.class));
+        counts.put("archivedOrders", jdbcTemplate.queryForObject("select count(*) from orders_archive", Long.class));
+        return counts;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.OrderItem;
+import org.example.pcshop.repository.OrderRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Emails the customer a summary of the order they just placed
+@Component
+public class OrderConfirmationEmailHandler implements OutboxHandler {
+
+    private final OrderRepository orderRepository;
+    private final EmailSender emailSender;
+
+    public OrderConfirmationEmailHandler(OrderRepository orderRepository, EmailSender emailSender) {
+        this.orderRepository = orderRepository;
+        this.emailSender = emailSender;
+    }
+
+    @Override
+    public String name() {
+        return "order-confirmation-email";
+    }
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(OutboxService.ORDER_PLACED);
+    }
+
+    @Override
+    public void handle(OutboxService.Message message) {
+        // Deleted since it was placed, or a customer without an email address: nothing to send
+        Order order = orderRepository.findDetailById(message.aggregateId()).orElse(null);
+        if (order == null || order.getUser().getEmail() == null || order.getUser().getEmail().isBlank()) {
+            return;
+        }
+        StringBuilder body = new StringBuilder();
+        body.append("Hi ").append(order.getFullName() == null ? order.getUser().getUsername() : order.getFullName())
+                .append(",\n\nThanks for your order #").append(order.getId()).append(".\n\n");
+        for (OrderItem item : order.getItems()) {
+            body.append("- ").append(item.getProduct() == null ? "Product" : item.getProduct().getName());
+            if (item.getVariant() != null && item.getVariant().getColor() != null) {
+                body.append(" (").append(item.getVariant().getColor()).append(')');
+            }
+            body.append(" x").append(item.getQuantity()).append(": ").append(item.getPrice()).append(" ₫\n");
+        }
+        body.append("\nTotal: ").append(order.getTotalPrice()).append(" ₫\n")
+                .append("Ship to: ").append(order.getShippingAddress()).append('\n')
+                .append("Payment: ").append(order.getPaymentMethod()).append('\n');
+        emailSender.send(order.getUser().getEmail(), "PCSHOP order #" + order.getId() + " received", body.toString());
+    }
+}
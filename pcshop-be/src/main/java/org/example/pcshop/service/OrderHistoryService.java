@@ -0,0 +1,111 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.OrderHistoryEntry;
+import org.example.pcshop.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The customer's own order history, newest first and keyset-paginated on
+ * (createdAt, id) like the admin search, across live and archived orders. A
+ * page is one statement: the page of orders is picked in a derived table off
+ * the (user_id, created_at, id) indexes and joined to its items, products and
+ * variants for just the columns the history screen shows, so no entity (and
+ * no lazy collection) is loaded.
+ */
+@Service
+public class OrderHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // Each branch takes its own newest (size + 1) off the user's (user_id, created_at, id) index, the outer
+    // select merges them; items come from the table the order lives in, picked by the live flag
+    private static final String PAGE = "select o.id, o.created_at, o.status, o.total_price, o.payment_method, "
+            + "o.full_name, o.phone_number, o.shipping_address, "
+            + "coalesce(i.id, ai.id), coalesce(i.product_id, ai.product_id), coalesce(i.variant_id, ai.variant_id), "
+            + "p.name, v.color, coalesce(v.image_url, p.image_url), "
+            + "coalesce(i.quantity, ai.quantity), coalesce(i.price, ai.price) "
+            + "from (select * from ("
+            + "(select id, created_at, status, total_price, payment_method, full_name, phone_number, "
+            + "shipping_address, 1 as live from orders where user_id = ? %1$s "
+            + "order by created_at desc, id desc limit ?) "
+            + "union all "
+            + "(select id, created_at, status, total_price, payment_method, full_name, phone_number, "
+            + "shipping_address, 0 as live from orders_archive where user_id = ? %1$s "
+            + "order by created_at desc, id desc limit ?)"
+            + ") u order by created_at desc, id desc limit ?) o "
+            + "left join order_items i on o.live = 1 and i.order_id = o.id "
+            + "left join order_items_archive ai on o.live = 0 and ai.order_id = o.id "
+            + "left join products p on p.id = coalesce(i.product_id, ai.product_id) "
+            + "left join product_variants v on v.id = coalesce(i.variant_id, ai.variant_id) "
+            + "order by o.created_at desc, o.id desc, coalesce(i.id, ai.id)";
+    private static final String AFTER = "and (created_at < ? or (created_at = ? and id < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderHistoryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderHistoryEntry> history(User user, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // One extra order tells whether another page follows
+        int limit = pageSize + 1;
+        List<Object> keyset = List.of();
+        String after = "";
+        if (cursor != null && !cursor.isBlank()) {
+            OrderSearchService.Position last = OrderSearchService.decodeCursor(cursor);
+            Timestamp createdAt = Timestamp.valueOf(last.createdAt());
+            keyset = List.of(createdAt, createdAt, last.id());
+            after = AFTER;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(user.getId());
+        args.addAll(keyset);
+        args.add(limit);
+        args.add(user.getId());
+        args.addAll(keyset);
+        args.add(limit);
+        args.add(limit);
+        String sql = String.format(PAGE, after);
+
+        Map<Long, OrderHistoryEntry> orders = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            long orderId = rs.getLong(1);
+            OrderHistoryEntry order = orders.get(orderId);
+            if (order == null) {
+                Timestamp createdAt = rs.getTimestamp(2);
+                order = new OrderHistoryEntry(orderId, createdAt == null ? null : createdAt.toLocalDateTime(),
+                        rs.getString(3), rs.getBigDecimal(4), rs.getString(5), rs.getString(6),
+                        rs.getString(7), rs.getString(8), new ArrayList<>());
+                orders.put(orderId, order);
+            }
+            long itemId = rs.getLong(9);
+            if (!rs.wasNull()) {
+                order.getItems().add(new OrderHistoryEntry.Line(itemId, rs.getObject(10, Long.class),
+                        rs.getObject(11, Long.class), rs.getString(12), rs.getString(13), rs.getString(14),
+                        rs.getInt(15), rs.getBigDecimal(16)));
+            }
+        }, args.toArray());
+
+        List<OrderHistoryEntry> rows = new ArrayList<>(orders.values());
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            OrderHistoryEntry last = rows.get(rows.size() - 1);
+            nextCursor = OrderSearchService.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor, pageSize);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.pcshop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.OrderSearchRequest;
+import org.example.pcshop.dto.OrderSummary;
+import org.example.pcshop.entity.ArchivedOrder;
+import org.example.pcshop.entity.ArchivedOrderItem;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.OrderItem;
+import org.example.pcshop.entity.OrderStatus;
+import org.example.pcshop.entity.User;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Admin order listing: newest first, keyset-paginated on (createdAt, id) and
+ * read as {@link OrderSummary} rows. A page is one query against orders and,
+ * unless the status filter rules them out, one against orders_archive with
+ * the same filters and cursor; the two are merged in memory and archived rows
+ * are flagged, so old finalized orders are listed rather than silently missing.
+ */
+@Service
+public class OrderSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    public OrderSearchService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> search(OrderSearchRequest request, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Position after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // One extra row tells whether another page follows
+        List<OrderSummary> rows = new ArrayList<>(
+                page(Order.class, OrderItem.class, JoinType.INNER, request, after, pageSize + 1));
+        if (includesArchive(request)) {
+            // An archived order may outlive its user account, hence the outer join
+            List<OrderSummary> archived = page(ArchivedOrder.class, ArchivedOrderItem.class, JoinType.LEFT,
+                    request, after, pageSize + 1);
+            archived.forEach(row -> row.setArchived(true));
+            rows.addAll(archived);
+            rows.sort(NEWEST_FIRST);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            OrderSummary last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(rows, nextCursor, pageSize);
+    }
+
+    private static final Comparator<OrderSummary> NEWEST_FIRST = Comparator
+            .comparing(OrderSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(OrderSummary::getId, Comparator.reverseOrder());
+
+    // Orders and orders_archive share field names, so one query shape serves both
+    private <T> List<OrderSummary> page(Class<T> orders, Class<?> items, JoinType userJoin,
+            OrderSearchRequest request, Position after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<T> root = query.from(orders);
+        Join<T, User> user = root.join("user", userJoin);
+
+        Subquery<Long> itemCount = query.subquery(Long.class);
+        Root<?> item = itemCount.from(items);
+        itemCount.select(cb.count(item)).where(cb.equal(item.get("order"), root));
+
+        query.select(cb.construct(OrderSummary.class,
+                root.get("id"), root.get("createdAt"), root.get("status"), root.get("totalPrice"),
+                root.get("paymentMethod"), root.get("fullName"), root.get("phoneNumber"),
+                user.get("id"), user.get("email"), itemCount, root.get("version")));
+
+        List<Predicate> predicates = filters(request, cb, root);
+        if (after != null) {
+            predicates.add(after(after, cb, root));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Only finalized orders are ever archived
+    private static boolean includesArchive(OrderSearchRequest request) {
+        if (request == null || request.getStatus() == null || request.getStatus().isBlank()) {
+            return true;
+        }
+        OrderStatus status = OrderStatus.of(request.getStatus());
+        return status == OrderStatus.COMPLETED || status == OrderStatus.CANCELLED;
+    }
+
+    // Equality filters sit in front of (created_at, id) in the idx_orders_* indexes
+    private static List<Predicate> filters(OrderSearchRequest request, CriteriaBuilder cb, Root<?> root) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (request == null) {
+            return predicates;
+        }
+        if (request.getStatus() != null && !request.getStatus().isBlank()) {
+            predicates.add(cb.equal(root.get("status"), request.getStatus().trim().toUpperCase()));
+        }
+        if (request.getPaymentMethod() != null && !request.getPaymentMethod().isBlank()) {
+            predicates.add(cb.equal(root.get("paymentMethod"), request.getPaymentMethod().trim()));
+        }
+        if (request.getUserId() != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), request.getUserId()));
+        }
+        if (request.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), request.getFrom().atStartOfDay()));
+        }
+        if (request.getTo() != null) {
+            predicates.add(cb.lessThan(root.get("createdAt"), request.getTo().plusDays(1).atStartOfDay()));
+        }
+        return predicates;
+    }
+
+    // Token layout: createdAt|lastId, base64url encoded; shared with OrderHistoryService
+    record Position(LocalDateTime createdAt, long id) {
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static Predicate after(Position last, CriteriaBuilder cb, Root<?> root) {
+        return cb.or(
+                cb.lessThan(root.get("createdAt"), last.createdAt()),
+                cb.and(cb.equal(root.get("createdAt"), last.createdAt()), cb.lessThan(root.get("id"), last.id())));
+    }
+}
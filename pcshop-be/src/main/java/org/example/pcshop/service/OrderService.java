@@ -2,46 +2,74 @@ package org.example.pcshop.service;
 
 import org.example.pcshop.entity.Order;
 import org.example.pcshop.entity.OrderItem;
-import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.OrderStatus;
+import org.example.pcshop.entity.Role;
 import org.example.pcshop.entity.User;
 import org.example.pcshop.repository.OrderRepository;
-import org.example.pcshop.repository.ProductRepository;
 import org.example.pcshop.repository.UserRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Service
 public class OrderService {
 
         private final OrderRepository orderRepository;
-        private final ProductRepository productRepository;
         private final UserRepository userRepository;
-
-        public OrderService(OrderRepository orderRepository, ProductRepository productRepository,
-                        UserRepository userRepository) {
+        private final ProductCache productCache;
+        private final ResourceVersions resourceVersions;
+        private final SuggestionIndex suggestionIndex;
+        private final CartQuoteService cartQuoteService;
+        private final InventoryService inventoryService;
+        private final SalesRollupService salesRollupService;
+        private final OutboxService outboxService;
+        private final OrderStatusService orderStatusService;
+
+        public OrderService(OrderRepository orderRepository,
+                        UserRepository userRepository, ProductCache productCache,
+                        ResourceVersions resourceVersions, SuggestionIndex suggestionIndex,
+                        CartQuoteService cartQuoteService, InventoryService inventoryService,
+                        SalesRollupService salesRollupService, OutboxService outboxService,
+                        OrderStatusService orderStatusService) {
                 this.orderRepository = orderRepository;
-                this.productRepository = productRepository;
                 this.userRepository = userRepository;
+                this.productCache = productCache;
+                this.resourceVersions = resourceVersions;
+                this.suggestionIndex = suggestionIndex;
+                this.cartQuoteService = cartQuoteService;
+                this.inventoryService = inventoryService;
+                this.salesRollupService = salesRollupService;
+                this.outboxService = outboxService;
+                this.orderStatusService = orderStatusService;
         }
 
         public List<Order> getMyOrders() {
                 User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-                return orderRepository.findByUserOrderByCreatedAtDesc(user);
+                return orderRepository.findByUserIncludingArchive(user);
         }
 
-        // Create order with full details
+        // Create order with full details; stock is taken atomically or the order fails with 409
+        @Transactional
         public Order createOrder(org.example.pcshop.dto.CreateOrderRequest request) {
                 User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
                 Order order = new Order();
                 order.setUser(user);
-                order.setStatus("PENDING");
+                order.setStatus(OrderStatus.PENDING.name());
+                order.setStockReserved(true);
 
                 // Set shipping info
                 order.setFullName(request.getFullName());
@@ -50,28 +78,87 @@ public class OrderService {
                 order.setPaymentMethod(request.getPaymentMethod());
                 order.setNote(request.getNote());
 
+                // All lines priced with a fixed number of selects, however many items the cart has
+                List<CartQuoteService.PricedLine> lines = cartQuoteService.price(request.getItems(),
+                                request.getVariantItems());
+                if (lines.isEmpty()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order has no items");
+                }
+
                 List<OrderItem> orderItems = new ArrayList<>();
                 BigDecimal total = BigDecimal.ZERO;
-
-                for (Map.Entry<Long, Integer> entry : request.getItems().entrySet()) {
-                        Product product = productRepository.findById(entry.getKey())
-                                        .orElseThrow(() -> new RuntimeException(
-                                                        "Product not found: " + entry.getKey()));
+                // Sorted so reservation locks rows in the same order in every transaction
+                SortedMap<Long, Integer> productUnits = new TreeMap<>();
+                SortedMap<Long, Integer> variantUnits = new TreeMap<>();
+
+                for (CartQuoteService.PricedLine line : lines) {
+                        if (CartQuoteService.NOT_FOUND.equals(line.problem())) {
+                                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, line.variantId() != null
+                                                ? "Variant not found: " + line.variantId()
+                                                : "Product not found: " + line.productId());
+                        }
+                        if (CartQuoteService.INVALID_QUANTITY.equals(line.problem())) {
+                                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be positive");
+                        }
+                        if (CartQuoteService.VARIANT_REQUIRED.equals(line.problem())) {
+                                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                                "Choose a variant for product " + line.productId());
+                        }
+                        // OUT_OF_STOCK here is only a snapshot; the reservation below decides
 
                         OrderItem item = new OrderItem();
                         item.setOrder(order);
-                        item.setProduct(product);
-                        item.setQuantity(entry.getValue());
-                        item.setPrice(product.getPrice());
+                        item.setProduct(line.product());
+                        item.setVariant(line.variant());
+                        item.setQuantity(line.quantity());
+                        item.setPrice(line.unitPrice());
 
                         orderItems.add(item);
-                        total = total.add(product.getPrice().multiply(BigDecimal.valueOf(entry.getValue())));
+                        total = total.add(line.lineTotal());
+                        productUnits.merge(line.productId(), line.quantity(), Integer::sum);
+                        if (line.variantId() != null) {
+                                variantUnits.merge(line.variantId(), line.quantity(), Integer::sum);
+                        }
                 }
 
                 order.setItems(orderItems);
                 order.setTotalPrice(total);
+                if (request.getExpectedTotal() != null && request.getExpectedTotal().compareTo(total) != 0) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, "Prices changed since your quote");
+                }
 
-                return orderRepository.save(order);
+                // Reserve last, so the row locks are held only for the order insert and commit
+                inventoryService.reserve(productUnits, variantUnits);
+                Order saved = orderRepository.save(order);
+                salesRollupService.recordCreated(saved);
+                // Emails and other slow follow-ups run on the outbox worker once this commits
+                outboxService.publish(OutboxService.ORDER_PLACED, saved.getId(),
+                                Map.of("userId", user.getId(), "total", total));
+
+                // Cached details carry stock; drop them once the new stock is visible to other readers
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                                productCache.evictProducts(productUnits.keySet());
+                                productUnits.keySet().forEach(id -> resourceVersions.touch(ResourceVersions.product(id)));
+                                resourceVersions.touch(ResourceVersions.PRODUCTS);
+                                productUnits.forEach(suggestionIndex::recordSale);
+                        }
+                });
+                return saved;
+        }
+
+        // Owner or admin: one order with its items; other users get 404 rather than learning it exists
+        @Transactional(readOnly = true)
+        public Order getOrder(Long id) {
+                User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                Order order = orderRepository.findDetailIncludingArchive(id)
+                                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+                if (user.getRole() != Role.ADMIN
+                                && (order.getUser() == null || !order.getUser().getId().equals(user.getId()))) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+                }
+                return order;
         }
 
         // Admin: Get all orders
@@ -80,18 +167,31 @@ public class OrderService {
                                 .by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt"));
         }
 
-        // Admin: Update Status
+        // Admin: Update Status, following the OrderStatus transitions; expectedVersion guards against stale screens
+        public Order updateStatus(Long id, String status, Long expectedVersion) {
+                return orderStatusService.transition(id, status, expectedVersion);
+        }
+
         public Order updateStatus(Long id, String status) {
-                Order order = orderRepository.findById(id).orElseThrow(() -> new RuntimeException("Order not found"));
-                order.setStatus(status);
-                return orderRepository.save(order);
+                return updateStatus(id, status, null);
         }
 
-        // Admin: Delete Order
+        // Admin: Delete Order; units it still holds go back to stock, as when it is cancelled
+        @Transactional
         public void deleteOrder(Long id) {
-                if (!orderRepository.existsById(id)) {
-                        throw new RuntimeException("Order not found");
+                Order order = orderRepository.findById(id).orElseThrow(() -> new RuntimeException("Order not found"));
+                salesRollupService.recordDeleted(order);
+                Set<Long> released = inventoryService.releaseReserved(List.of(order));
+                orderRepository.delete(order);
+                if (!released.isEmpty()) {
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public void afterCommit() {
+                                        productCache.evictProducts(released);
+                                        released.forEach(pid -> resourceVersions.touch(ResourceVersions.product(pid)));
+                                        resourceVersions.touch(ResourceVersions.PRODUCTS);
+                                }
+                        });
                 }
-                orderRepository.deleteById(id);
         }
 }
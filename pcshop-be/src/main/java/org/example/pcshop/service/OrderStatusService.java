@@ -0,0 +1,237 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.BulkStatusResult;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.OrderStatus;
+import org.example.pcshop.repository.OrderRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Moves orders through {@link OrderStatus} without row locks: read status and
+ * version, check the transition, then {@code UPDATE ... WHERE version = ?}.
+ * Losing that compare-and-set means another admin got there first; single
+ * updates re-read and retry a few times, and each attempt runs in its own
+ * transaction so it sees the winner's commit. Rollups and (on cancel) stock
+ * move in the same transaction as the status.
+ */
+@Service
+public class OrderStatusService {
+
+    public static final int MAX_ATTEMPTS = 3;
+    public static final int MAX_BULK = 500;
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+    public static final String CONFLICT = "CONFLICT";
+
+    private static final String CAS = "update orders set status = ?, version = version + 1 "
+            + "where id = ? and version = ?";
+
+    private record Current(String status, long version) {
+    }
+
+    // Either the moved order or why not
+    private record Outcome(Order order, String problem, String from) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
+    private final InventoryService inventoryService;
+    private final ProductCache productCache;
+    private final ResourceVersions resourceVersions;
+
+    public OrderStatusService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            OrderRepository orderRepository, SalesRollupService salesRollupService,
+            InventoryService inventoryService, ProductCache productCache, ResourceVersions resourceVersions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderRepository = orderRepository;
+        this.salesRollupService = salesRollupService;
+        this.inventoryService = inventoryService;
+        this.productCache = productCache;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /**
+     * Moves one order to {@code status}. With {@code expectedVersion} the call
+     * fails with 409 as soon as the order differs from what the caller saw;
+     * without it, a lost race is retried against the fresh state.
+     */
+    public Order transition(Long id, String status, Long expectedVersion) {
+        OrderStatus target = parse(status);
+        Outcome outcome = settle(id, target, expectedVersion);
+        if (outcome.order() != null) {
+            return outcome.order();
+        }
+        throw switch (outcome.problem()) {
+            case NOT_FOUND -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found");
+            case INVALID_TRANSITION -> new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Order " + id + " cannot move from " + outcome.from() + " to " + target);
+            default -> new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Order " + id + " was changed by someone else; reload it and try again");
+        };
+    }
+
+    private Outcome settle(Long id, OrderStatus target, Long expectedVersion) {
+        Outcome outcome = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            outcome = transactionTemplate.execute(tx -> attempt(id, target, expectedVersion));
+            if (!CONFLICT.equals(outcome.problem()) || expectedVersion != null) {
+                return outcome;
+            }
+        }
+        return outcome;
+    }
+
+    private Outcome attempt(Long id, OrderStatus target, Long expectedVersion) {
+        Current current = current(List.of(id)).get(id);
+        if (current == null) {
+            return new Outcome(null, NOT_FOUND, null);
+        }
+        if (expectedVersion != null && expectedVersion != current.version()) {
+            return new Outcome(null, CONFLICT, current.status());
+        }
+        OrderStatus from = OrderStatus.of(current.status());
+        if (from == null || !from.canMoveTo(target)) {
+            return new Outcome(null, INVALID_TRANSITION, current.status());
+        }
+        if (jdbcTemplate.update(CAS, target.name(), id, current.version()) == 0) {
+            return new Outcome(null, CONFLICT, current.status());
+        }
+        Order order = orderRepository.findDetailById(id).orElseThrow();
+        afterTransition(List.of(order), Map.of(id, current.status()), target);
+        return new Outcome(order, null, current.status());
+    }
+
+    /**
+     * Moves every eligible order in {@code ids} to {@code status} with one
+     * UPDATE keyed on (id, version). If a concurrent change makes that update
+     * miss rows, it is rolled back and the orders are moved one by one instead,
+     * so each gets an exact outcome.
+     */
+    public BulkStatusResult bulkTransition(List<Long> ids, String status) {
+        OrderStatus target = parse(status);
+        if (ids == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No orders given");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No orders given");
+        }
+        if (distinct.size() > MAX_BULK) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK + " orders at a time");
+        }
+
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        List<Long> updated = transactionTemplate.execute(tx -> {
+            Map<Long, Current> current = current(distinct);
+            Map<Long, Current> eligible = new LinkedHashMap<>();
+            for (Long id : distinct) {
+                Current c = current.get(id);
+                OrderStatus from = c == null ? null : OrderStatus.of(c.status());
+                if (c == null) {
+                    skipped.put(id, NOT_FOUND);
+                } else if (from == null || !from.canMoveTo(target)) {
+                    skipped.put(id, INVALID_TRANSITION);
+                } else {
+                    eligible.put(id, c);
+                }
+            }
+            if (eligible.isEmpty()) {
+                return List.<Long>of();
+            }
+            List<Object> args = new ArrayList<>(eligible.size() * 2 + 1);
+            args.add(target.name());
+            eligible.forEach((id, c) -> {
+                args.add(id);
+                args.add(c.version());
+            });
+            int changed = jdbcTemplate.update("update orders set status = ?, version = version + 1 where (id, version) in ("
+                    + String.join(",", Collections.nCopies(eligible.size(), "(?, ?)")) + ")", args.toArray());
+            if (changed != eligible.size()) {
+                tx.setRollbackOnly();
+                return null;
+            }
+            Map<Long, String> previous = new HashMap<>();
+            eligible.forEach((id, c) -> previous.put(id, c.status()));
+            afterTransition(orderRepository.findAllById(eligible.keySet()), previous, target);
+            return new ArrayList<>(eligible.keySet());
+        });
+
+        if (updated == null) {
+            // Lost at least one race: settle each remaining order on its own
+            updated = new ArrayList<>();
+            for (Long id : distinct) {
+                if (skipped.containsKey(id)) {
+                    continue;
+                }
+                Outcome outcome = settle(id, target, null);
+                if (outcome.order() != null) {
+                    updated.add(id);
+                } else {
+                    skipped.put(id, outcome.problem());
+                }
+            }
+        }
+        return new BulkStatusResult(target.name(), updated, skipped);
+    }
+
+    private Map<Long, Current> current(Collection<Long> ids) {
+        Map<Long, Current> rows = new HashMap<>();
+        jdbcTemplate.query("select id, status, version from orders where id in ("
+                + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                rs -> {
+                    rows.put(rs.getLong(1), new Current(rs.getString(2), rs.getLong(3)));
+                }, ids.toArray());
+        return rows;
+    }
+
+    // Runs in the transition's transaction; cancelling returns only stock the orders reserved,
+    // and cache eviction waits for the commit
+    private void afterTransition(Collection<Order> orders, Map<Long, String> previous, OrderStatus target) {
+        salesRollupService.recordStatusChanges(orders, previous, target.name());
+        if (target != OrderStatus.CANCELLED) {
+            return;
+        }
+        Set<Long> released = inventoryService.releaseReserved(orders);
+        if (released.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productCache.evictProducts(released);
+                released.forEach(id -> resourceVersions.touch(ResourceVersions.product(id)));
+                resourceVersions.touch(ResourceVersions.PRODUCTS);
+            }
+        });
+    }
+
+    private static OrderStatus parse(String status) {
+        OrderStatus target = OrderStatus.of(status);
+        if (target == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown order status: " + status);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.pcshop.service;
+
+import java.util.Set;
+
+/**
+ * A side effect run by OutboxWorker after the change that caused it has
+ * committed. Delivery is at least once: a handler may see the same message
+ * again after a crash or a lease timeout, so it should tolerate repeats.
+ * Throwing schedules a retry with backoff.
+ */
+public interface OutboxHandler {
+
+    // Stored with each row; keep it stable across releases
+    String name();
+
+    Set<String> eventTypes();
+
+    void handle(OutboxService.Message message) throws Exception;
+}
@@ -0,0 +1,167 @@
+package org.example.pcshop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox on the outbox_events table. {@link #publish} writes one
+ * row per subscribed handler inside the caller's transaction, so side effects
+ * exist exactly when the change commits; OutboxWorker claims due rows with
+ * SKIP LOCKED and reports back through {@link #complete} / {@link #fail}.
+ */
+@Service
+public class OutboxService {
+
+    public static final String ORDER_PLACED = "ORDER_PLACED";
+
+    private static final String PENDING = "PENDING";
+    private static final String FAILED = "FAILED";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long MAX_BACKOFF_SECONDS = 600;
+
+    private static final String INSERT = "insert into outbox_events "
+            + "(event_type, handler, aggregate_id, payload, status, attempts, available_at, created_at) "
+            + "values (?, ?, ?, ?, '" + PENDING + "', 0, ?, ?)";
+    private static final String DUE = "select id, handler, event_type, aggregate_id, payload, attempts "
+            + "from outbox_events where status = '" + PENDING + "' and available_at <= ? "
+            + "order by available_at, id limit ? for update skip locked";
+
+    public record Message(long id, String handler, String eventType, Long aggregateId, String payload,
+            int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, List<String>> handlersByType = new HashMap<>();
+    private final Duration lease;
+    private final int maxAttempts;
+    // Released after each commit that published something, so the worker does not wait for its next poll
+    private final Semaphore signal = new Semaphore(0);
+
+    public OutboxService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            List<OutboxHandler> handlers,
+            @Value("${pcshop.outbox.lease:5m}") Duration lease,
+            @Value("${pcshop.outbox.max-attempts:8}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        for (OutboxHandler handler : handlers) {
+            for (String type : handler.eventTypes()) {
+                handlersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(handler.name());
+            }
+        }
+    }
+
+    /** Queues {@code eventType} for every handler subscribed to it; runs in, and commits with, the caller's transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long aggregateId, Map<String, ?> payload) {
+        List<String> handlers = handlersByType.getOrDefault(eventType, Collections.emptyList());
+        if (handlers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, handlers.stream()
+                .map(handler -> new Object[] { eventType, handler, aggregateId, json, now, now })
+                .toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal.release();
+            }
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} due rows. Claimed rows are pushed past the
+     * lease, so if this process dies they become due again for another worker.
+     */
+    public List<Message> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Message> due = jdbcTemplate.query(DUE,
+                    (rs, i) -> new Message(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getObject(4, Long.class), rs.getString(5), rs.getInt(6) + 1),
+                    Timestamp.valueOf(now), limit);
+            if (!due.isEmpty()) {
+                String placeholders = String.join(",", Collections.nCopies(due.size(), "?"));
+                Object[] args = new Object[due.size() + 1];
+                args[0] = Timestamp.valueOf(now.plus(lease));
+                for (int i = 0; i < due.size(); i++) {
+                    args[i + 1] = due.get(i).id();
+                }
+                jdbcTemplate.update("update outbox_events set available_at = ?, attempts = attempts + 1 "
+                        + "where id in (" + placeholders + ")", args);
+            }
+            return due;
+        });
+    }
+
+    public void complete(Message message) {
+        jdbcTemplate.update("delete from outbox_events where id = ?", message.id());
+    }
+
+    // Exponential backoff from 2 s, capped at 10 min; gives up after maxAttempts
+    public void fail(Message message, Throwable error) {
+        String text = String.valueOf(error);
+        if (text.length() > MAX_ERROR_LENGTH) {
+            text = text.substring(0, MAX_ERROR_LENGTH);
+        }
+        long delay = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(message.attempts(), 20));
+        jdbcTemplate.update("update outbox_events set status = ?, available_at = ?, last_error = ? where id = ?",
+                message.attempts() >= maxAttempts ? FAILED : PENDING,
+                Timestamp.valueOf(LocalDateTime.now().plusSeconds(delay)), text, message.id());
+    }
+
+    // Puts FAILED rows back in the queue, e.g. after fixing the mail relay
+    public int retryFailed() {
+        return jdbcTemplate.update("update outbox_events set status = ?, attempts = 0, available_at = ? "
+                + "where status = ?", PENDING, Timestamp.valueOf(LocalDateTime.now()), FAILED);
+    }
+
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("select status, count(*) from outbox_events group by status",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    // Blocks until something was published or the timeout passes
+    public void awaitWork(Duration timeout) throws InterruptedException {
+        if (signal.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            signal.drainPermits();
+        }
+    }
+
+    public void wakeUp() {
+        signal.release();
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.pcshop.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox in the background. One poller claims due rows in batches
+ * and hands each to its own virtual thread; at most {@code max-in-flight}
+ * messages run at once, and the poller stops claiming while that many are
+ * busy, so a slow mail relay backs up in the table rather than in memory.
+ */
+@Component
+@Slf4j
+public class OutboxWorker {
+
+    private final OutboxService outboxService;
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+    private volatile boolean saturated;
+    private Thread poller;
+
+    public OutboxWorker(OutboxService outboxService, List<OutboxHandler> handlers,
+            @Value("${pcshop.outbox.enabled:true}") boolean enabled,
+            @Value("${pcshop.outbox.batch-size:50}") int batchSize,
+            @Value("${pcshop.outbox.max-in-flight:200}") int maxInFlight,
+            @Value("${pcshop.outbox.poll-interval:2s}") Duration pollInterval) {
+        this.outboxService = outboxService;
+        handlers.forEach(handler -> this.handlers.put(handler.name(), handler));
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        poller = Thread.ofVirtual().name("outbox-poller").start(this::poll);
+        log.info("Outbox worker started for handlers {}", handlers.keySet());
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        outboxService.wakeUp();
+        poller.join(Duration.ofSeconds(5));
+        // Anything still running is released by its lease and picked up again on the next start
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                int free = inFlight.availablePermits();
+                if (free == 0) {
+                    saturated = true;
+                    outboxService.awaitWork(pollInterval);
+                    continue;
+                }
+                List<OutboxService.Message> batch = outboxService.claim(Math.min(batchSize, free));
+                for (OutboxService.Message message : batch) {
+                    inFlight.acquire();
+                    executor.submit(() -> run(message));
+                }
+                if (batch.isEmpty()) {
+                    outboxService.awaitWork(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // e.g. the database is briefly unreachable; try again on the next tick
+                log.warn("Outbox poll failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void run(OutboxService.Message message) {
+        try {
+            OutboxHandler handler = handlers.get(message.handler());
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler named " + message.handler());
+            }
+            handler.handle(message);
+            outboxService.complete(message);
+        } catch (Exception e) {
+            log.warn("Outbox message {} ({} for {} #{}) failed on attempt {}: {}", message.id(), message.handler(),
+                    message.eventType(), message.aggregateId(), message.attempts(), e.toString());
+            try {
+                outboxService.fail(message, e);
+            } catch (RuntimeException ignored) {
+                // the lease expires and the message is retried anyway
+            }
+        } finally {
+            inFlight.release();
+            if (saturated) {
+                saturated = false;
+                outboxService.wakeUp();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductVariant;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps product_attributes in step with the specifications text. Rows are
+ * replaced per product on every write and written with JDBC batches; a
+ * backfill at startup covers products saved before the table existed or
+ * outside the app. The backfill records how far it got (and with which
+ * SpecParser version) in maintenance_markers, so a restart resumes from there
+ * and a parser change re-parses everything once.
+ */
+@Service
+@Slf4j
+public class ProductAttributeService {
+
+    private static final int BACKFILL_CHUNK = 500;
+    private static final long PRODUCT_LEVEL = 0L;
+
+    private static final String INSERT = "insert into product_attributes "
+            + "(product_id, variant_id, name, value_text, value_num, unit) values (?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = { Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.DECIMAL, Types.VARCHAR };
+
+    private static final String BACKFILLED_THROUGH = "product_attributes.backfilled_through";
+    private static final String PARSER_VERSION = "product_attributes.parser_version";
+    private static final String SET_MARKER = "insert into maintenance_markers (name, value) values (?, ?) "
+            + "on duplicate key update value = values(value)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductAttributeService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void reindex(Product product) {
+        List<Object[]> rows = new ArrayList<>();
+        collect(rows, product.getId(), PRODUCT_LEVEL, product.getSpecifications());
+        if (product.getVariants() != null) {
+            for (ProductVariant variant : product.getVariants()) {
+                collect(rows, product.getId(), variant.getId(), variant.getSpecifications());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from product_attributes where product_id = ?", product.getId());
+            insert(rows);
+        });
+    }
+
+    public void remove(Long productId) {
+        jdbcTemplate.update("delete from product_attributes where product_id = ?", productId);
+    }
+
+    // Parses specs into insert rows; variantId 0 means the product itself
+    public void collect(List<Object[]> rows, long productId, long variantId, String specifications) {
+        for (SpecParser.Attribute a : SpecParser.parse(specifications)) {
+            rows.add(new Object[] { productId, variantId, a.name(), a.text(), a.number(), a.unit() });
+        }
+    }
+
+    // Caller provides the transaction
+    public void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows, INSERT_TYPES);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (marker(PARSER_VERSION) != SpecParser.VERSION) {
+            // Rows from an older parser: parse everything again, chunk by chunk, replacing as it goes
+            backfillFrom(0);
+            setMarker(PARSER_VERSION, SpecParser.VERSION);
+        } else {
+            backfillFrom(marker(BACKFILLED_THROUGH));
+        }
+    }
+
+    // Drops every row and parses the whole catalog again
+    public int rebuildAll() {
+        jdbcTemplate.update("delete from product_attributes");
+        int processed = backfillFrom(0);
+        setMarker(PARSER_VERSION, SpecParser.VERSION);
+        return processed;
+    }
+
+    // Parses every product with an id above lastId, moving the marker forward with each chunk
+    private int backfillFrom(long lastId) {
+        long start = System.currentTimeMillis();
+        int processed = 0;
+        while (true) {
+            List<Object[]> products = jdbcTemplate.query("select id, specifications from products where id > ? "
+                    + "order by id limit " + BACKFILL_CHUNK,
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2) }, lastId);
+            if (products.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>();
+            List<Long> ids = new ArrayList<>(products.size());
+            for (Object[] product : products) {
+                ids.add((Long) product[0]);
+                collect(rows, (Long) product[0], PRODUCT_LEVEL, (String) product[1]);
+            }
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            jdbcTemplate.query("select id, product_id, specifications from product_variants where product_id in ("
+                    + placeholders + ")",
+                    rs -> {
+                        collect(rows, rs.getLong(2), rs.getLong(1), rs.getString(3));
+                    }, ids.toArray());
+            long chunkEnd = ids.get(ids.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                // a concurrent edit may have indexed some of these already
+                jdbcTemplate.update("delete from product_attributes where product_id in (" + placeholders + ")",
+                        ids.toArray());
+                insert(rows);
+                setMarker(BACKFILLED_THROUGH, chunkEnd);
+            });
+            processed += products.size();
+            lastId = chunkEnd;
+        }
+        if (processed > 0) {
+            log.info("Parsed specification attributes for {} products in {} ms", processed,
+                    System.currentTimeMillis() - start);
+        }
+        return processed;
+    }
+
+    private long marker(String name) {
+        List<Long> value = jdbcTemplate.queryForList("select value from maintenance_markers where name = ?",
+                Long.class, name);
+        return value.isEmpty() ? 0 : value.get(0);
+    }
+
+    private void setMarker(String name, long value) {
+        jdbcTemplate.update(SET_MARKER, name, value);
+    }
+}
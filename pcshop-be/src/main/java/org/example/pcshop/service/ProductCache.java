@@ -0,0 +1,66 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CacheStats;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.ProductSummary;
+import org.example.pcshop.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through caches for product detail and category listings. Product
+ * writes and orders evict the affected product; any product change may move
+ * a listing, so those are dropped wholesale.
+ */
+@Component
+public class ProductCache {
+
+    private final ProductCatalogService productCatalogService;
+    private final BoundedCache<Long, Product> details;
+    private final BoundedCache<String, CursorPage<ProductSummary>> categoryPages;
+
+    public ProductCache(ProductCatalogService productCatalogService,
+            @Value("${pcshop.cache.product.max-size:2000}") int detailMaxSize,
+            @Value("${pcshop.cache.product.ttl:10m}") Duration detailTtl,
+            @Value("${pcshop.cache.category-page.max-size:500}") int pageMaxSize,
+            @Value("${pcshop.cache.category-page.ttl:2m}") Duration pageTtl) {
+        this.productCatalogService = productCatalogService;
+        this.details = new BoundedCache<>("productDetails", detailMaxSize, detailTtl);
+        this.categoryPages = new BoundedCache<>("categoryPages", pageMaxSize, pageTtl);
+    }
+
+    public Product getDetail(Long id) {
+        return details.get(id, key -> productCatalogService.detail(key).orElse(null));
+    }
+
+    public CursorPage<ProductSummary> getCategoryPage(Long categoryId, String sort, String direction,
+            String cursor, Integer size) {
+        String key = categoryId + "|" + sort + "|" + direction + "|" + cursor + "|" + size;
+        return categoryPages.get(key,
+                k -> productCatalogService.categoryPage(categoryId, sort, direction, cursor, size));
+    }
+
+    public void evictProduct(Long id) {
+        details.invalidate(id);
+        categoryPages.invalidateAll();
+    }
+
+    public void evictProducts(Collection<Long> ids) {
+        ids.forEach(details::invalidate);
+        categoryPages.invalidateAll();
+    }
+
+    // Category writes change listing membership and the category embedded in every cached detail
+    public void evictAll() {
+        details.invalidateAll();
+        categoryPages.invalidateAll();
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(details.stats(), categoryPages.stats());
+    }
+}
@@ -0,0 +1,349 @@
+package org.example.pcshop.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.ProductFacets;
+import org.example.pcshop.dto.ProductSearchRequest;
+import org.example.pcshop.dto.ProductSummary;
+import org.example.pcshop.dto.SearchPage;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.repository.ProductRepository;
+import org.example.pcshop.repository.ProductSpecifications;
+import org.hibernate.Hibernate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class ProductCatalogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Upper bound on text hits considered per query; deeper pages of a relevance search stop here
+    private static final int MAX_TEXT_MATCHES = 1000;
+
+    // "price" sorts by the effective (cheapest variant) price
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id", "price", "minPrice", "name", "name");
+
+    private final ProductRepository productRepository;
+    private final ProductTextIndex productTextIndex;
+    private final EntityManager entityManager;
+
+    private static final Pattern ATTRIBUTE_FILTER = Pattern.compile("\\s*([^<>=]+?)\\s*(>=|<=|=|>|<)\\s*(.+)");
+
+    public ProductCatalogService(ProductRepository productRepository, ProductTextIndex productTextIndex,
+            EntityManager entityManager) {
+        this.productRepository = productRepository;
+        this.productTextIndex = productTextIndex;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Combines every filter in the request into one WHERE clause (AND), so the
+     * whole search is a single query against the products indexes.
+     */
+    public Specification<Product> toSpecification(ProductSearchRequest request) {
+        return toSpecification(request, true);
+    }
+
+    private Specification<Product> toSpecification(ProductSearchRequest request, boolean includeText) {
+        List<Specification<Product>> specs = new ArrayList<>();
+        if (includeText && hasText(request)) {
+            specs.add(ProductSpecifications.idIn(productTextIndex.search(request.getName(), MAX_TEXT_MATCHES)));
+        }
+        if (request.getCategoryId() != null) {
+            specs.add(ProductSpecifications.inCategorySubtree(request.getCategoryId()));
+        }
+        if (request.getMinPrice() != null) {
+            specs.add(ProductSpecifications.priceAtLeast(request.getMinPrice()));
+        }
+        if (request.getMaxPrice() != null) {
+            specs.add(ProductSpecifications.priceAtMost(request.getMaxPrice()));
+        }
+        if (request.getMinWattage() != null) {
+            specs.add(ProductSpecifications.wattageAtLeast(request.getMinWattage()));
+        }
+        if (request.getMaxWattage() != null) {
+            specs.add(ProductSpecifications.wattageAtMost(request.getMaxWattage()));
+        }
+        if (Boolean.TRUE.equals(request.getInStock())) {
+            specs.add(ProductSpecifications.inStock());
+        }
+        if (request.getAttr() != null) {
+            request.getAttr().forEach(filter -> specs.add(attributeFilter(filter)));
+        }
+        return Specification.allOf(specs);
+    }
+
+    // "ram>=16GB" compares the parsed number in base units; "socket=LGA 1700" matches the folded text
+    private static Specification<Product> attributeFilter(String filter) {
+        Matcher matcher = ATTRIBUTE_FILTER.matcher(filter);
+        if (!matcher.matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid attribute filter: " + filter);
+        }
+        String name = SpecParser.canonicalName(matcher.group(1));
+        String operator = matcher.group(2);
+        SpecParser.Measure measure = SpecParser.measure(matcher.group(3));
+        if (measure == null && !operator.equals("=")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range filter needs a number: " + filter);
+        }
+        // "=" on a value with letters around the number (e.g. "LGA1700") is a text match
+        boolean numeric = measure != null && (!operator.equals("=")
+                || matcher.group(3).trim().matches("[\\d.,]+\\s*[a-zA-Z]{0,4}"));
+        return numeric
+                ? ProductSpecifications.attribute(name, operator, measure.number(), measure.unit(), null)
+                : ProductSpecifications.attribute(name, operator, null, null,
+                        SpecParser.canonicalText(matcher.group(3)));
+    }
+
+    /**
+     * A text query without an explicit sort is ordered by BM25 relevance; any
+     * other sort goes through the keyset pager with the text hits as an id filter.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<ProductSummary> search(ProductSearchRequest request, String sort, String direction,
+            String cursor, Integer size) {
+        boolean firstPage = cursor == null || cursor.isBlank();
+        Specification<Product> filter = toSpecification(request);
+        CursorPage<ProductSummary> page = hasText(request) && (sort == null || sort.isBlank() || "relevance".equals(sort))
+                ? searchByRelevance(request, cursor, size)
+                : page(filter, sort, direction, cursor, size);
+        return new SearchPage<>(page, firstPage ? facets(filter) : null);
+    }
+
+    /**
+     * Product detail with every association the JSON view touches already
+     * loaded, so the entity can be cached and serialized after its session closes.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Product> detail(Long id) {
+        Optional<Product> product = productRepository.findDetailById(id);
+        product.ifPresent(p -> Hibernate.initialize(p.getVariants()));
+        return product;
+    }
+
+    // Products in a category and all of its descendants, without facets
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummary> categoryPage(Long categoryId, String sort, String direction,
+            String cursor, Integer size) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryId(categoryId);
+        return page(toSpecification(request), sort, direction, cursor, size);
+    }
+
+    /**
+     * Facet counts for every row matching {@code filter}, from one narrow
+     * query streamed through a {@link FacetAccumulator}.
+     */
+    @Transactional(readOnly = true)
+    public ProductFacets facets(Specification<Product> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.tuple(root.get("category").get("id"), root.get("minPrice"), root.get("wattage"),
+                root.get("totalStock")));
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        FacetAccumulator accumulator = new FacetAccumulator();
+        try (Stream<Tuple> rows = entityManager.createQuery(query).getResultStream()) {
+            rows.forEach(row -> accumulator.accept(row.get(0, Long.class), row.get(1, BigDecimal.class),
+                    row.get(2, Integer.class), row.get(3, Integer.class)));
+        }
+        return accumulator.result();
+    }
+
+    private CursorPage<ProductSummary> searchByRelevance(ProductSearchRequest request, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        int offset = cursor == null || cursor.isBlank() ? 0 : decodeOffset(cursor);
+
+        List<Long> ranked = productTextIndex.search(request.getName(), MAX_TEXT_MATCHES);
+        Specification<Product> filters = toSpecification(request, false);
+        if (!ranked.isEmpty() && hasFilters(request)) {
+            Set<Long> allowed = matchingIds(filters, ranked);
+            ranked = ranked.stream().filter(allowed::contains).toList();
+        }
+
+        int end = Math.min(offset + pageSize, ranked.size());
+        if (offset >= end) {
+            return new CursorPage<>(List.of(), null, pageSize);
+        }
+        List<Long> pageIds = ranked.subList(offset, end);
+        Map<Long, ProductSummary> byId = new HashMap<>();
+        summaries(ProductSpecifications.idIn(pageIds), null, true, 0).forEach(p -> byId.put(p.getId(), p));
+        List<ProductSummary> items = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        String nextCursor = end < ranked.size() ? encodeOffset(end) : null;
+        return new CursorPage<>(items, nextCursor, pageSize);
+    }
+
+    // Applies the non-text filters to the text hits with a single id-only query
+    private Set<Long> matchingIds(Specification<Product> filters, List<Long> candidates) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root.get("id"))
+                .where(filters.and(ProductSpecifications.idIn(candidates)).toPredicate(root, query, cb));
+        return new HashSet<>(entityManager.createQuery(query).getResultList());
+    }
+
+    private static boolean hasText(ProductSearchRequest request) {
+        return request.getName() != null && !request.getName().isBlank();
+    }
+
+    private static boolean hasFilters(ProductSearchRequest request) {
+        return request.getCategoryId() != null || request.getMinPrice() != null || request.getMaxPrice() != null
+                || request.getMinWattage() != null || request.getMaxWattage() != null
+                || Boolean.TRUE.equals(request.getInStock())
+                || (request.getAttr() != null && !request.getAttr().isEmpty());
+    }
+
+    /**
+     * Returns one keyset page of products matching {@code filter}, ordered by
+     * {@code sort} then id so ties never reorder between pages.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummary> page(Specification<Product> filter, String sort, String direction,
+            String cursor, Integer size) {
+        String key = sort == null || sort.isBlank() ? "id" : sort;
+        if (!SORT_COLUMNS.containsKey(key)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        }
+        boolean ascending = !"desc".equalsIgnoreCase(direction);
+        int pageSize = pageSize(size);
+
+        List<Specification<Product>> specs = new ArrayList<>();
+        if (filter != null) {
+            specs.add(filter);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            specs.add(decode(cursor, key, ascending));
+        }
+
+        List<ProductSummary> rows = summaries(Specification.allOf(specs), key, ascending, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            nextCursor = encode(key, ascending, rows.get(rows.size() - 1));
+        }
+        return new CursorPage<>(rows, nextCursor, pageSize);
+    }
+
+    /**
+     * Runs {@code filter} as a constructor-expression query over the product
+     * and category columns only, ordered by {@code key} then id when a key is given.
+     */
+    private List<ProductSummary> summaries(Specification<Product> filter, String key, boolean ascending,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> root = query.from(Product.class);
+        Join<Product, Category> category = root.join("category", JoinType.LEFT);
+        query.select(cb.construct(ProductSummary.class,
+                root.get("id"), root.get("name"), root.get("price"), root.get("imageUrl"),
+                root.get("quantity"), root.get("wattage"), root.get("minPrice"), root.get("maxPrice"),
+                root.get("totalStock"), category.get("id"), category.get("name")));
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (key != null) {
+            List<Order> orders = new ArrayList<>();
+            if (!"id".equals(key)) {
+                String column = SORT_COLUMNS.get(key);
+                orders.add(ascending ? cb.asc(root.get(column)) : cb.desc(root.get(column)));
+            }
+            orders.add(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+            query.orderBy(orders);
+        }
+        TypedQuery<ProductSummary> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("relevance:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("relevance:")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sort order");
+            }
+            return Math.max(0, Integer.parseInt(raw.substring("relevance:".length())));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // Token layout: key:a|d:lastId:(~ for null | =value), base64url encoded
+    private String encode(String key, boolean ascending, ProductSummary last) {
+        Object value = switch (key) {
+            case "price" -> last.getMinPrice();
+            case "name" -> last.getName();
+            default -> last.getId();
+        };
+        String raw = key + ":" + (ascending ? "a" : "d") + ":" + last.getId() + ":"
+                + (value == null ? "~" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Product> decode(String cursor, String key, boolean ascending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4 || !parts[0].equals(key) || !parts[1].equals(ascending ? "a" : "d")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sort order");
+            }
+            Long lastId = Long.valueOf(parts[2]);
+            String value = parts[3].startsWith("=") ? parts[3].substring(1) : null;
+            return switch (key) {
+                case "price" -> ProductSpecifications.after("minPrice",
+                        value == null ? null : new BigDecimal(value), lastId, ascending);
+                case "name" -> ProductSpecifications.after("name", value, lastId, ascending);
+                default -> ProductSpecifications.after("id", lastId, lastId, ascending);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package org.example.pcshop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.dto.ImportReport;
+import org.example.pcshop.dto.ProductImportRow;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.repository.CategoryRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk catalog import from CSV or NDJSON. The body is read one record at a
+ * time; valid rows are written with plain JDBC batches (products, then their
+ * images and variants) and committed every {@link #CHUNK_SIZE} rows, so a bad
+ * chunk only rolls back itself. Search indexes and caches are refreshed once
+ * at the end instead of per product.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_PRODUCT = "insert into products "
+            + "(id, name, price, quantity, wattage, image_url, description, specifications, category_id, updated_at, "
+            + "min_price, max_price, total_stock) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IMAGE = "insert into product_images (id, image_url, product_id) values (?, ?, ?)";
+    private static final String INSERT_VARIANT = "insert into product_variants "
+            + "(id, color, specifications, price, stock_quantity, image_url, product_id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ProductTextIndex productTextIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final ProductCache productCache;
+    private final ResourceVersions resourceVersions;
+    private final IdSequences idSequences;
+    private final ProductAttributeService productAttributeService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReentrantLock running = new ReentrantLock();
+    private volatile ImportReport current;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            CategoryRepository categoryRepository, ProductTextIndex productTextIndex,
+            SuggestionIndex suggestionIndex, ProductCache productCache, ResourceVersions resourceVersions,
+            IdSequences idSequences, ProductAttributeService productAttributeService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryRepository = categoryRepository;
+        this.productTextIndex = productTextIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.productCache = productCache;
+        this.resourceVersions = resourceVersions;
+        this.idSequences = idSequences;
+        this.productAttributeService = productAttributeService;
+    }
+
+    public ImportReport importProducts(InputStream body, String format) {
+        if (!running.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An import is already running");
+        }
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        report.setFormat(format);
+        report.setStatus("RUNNING");
+        current = report;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 1 << 16)) {
+            Map<Long, Long> categoryIds = new HashMap<>();
+            Map<String, Long> categoryNames = new HashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                categoryIds.put(category.getId(), category.getId());
+                categoryNames.put(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+            }
+
+            RowSource source = "csv".equals(format) ? csvRows(reader) : ndjsonRows(reader);
+            List<ProductImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+            ParsedRow parsed;
+            while ((parsed = source.next()) != null) {
+                String error = parsed.error();
+                if (error == null) {
+                    error = resolve(parsed.row(), categoryIds, categoryNames);
+                }
+                synchronized (report) {
+                    report.setRows(report.getRows() + 1);
+                    if (error != null) {
+                        fail(report, parsed.line(), error, 1);
+                        continue;
+                    }
+                }
+                chunk.add(parsed.row());
+                chunkLines.add(parsed.line());
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(report, chunk, chunkLines, start);
+                }
+            }
+            flush(report, chunk, chunkLines, start);
+            report.setStatus("DONE");
+        } catch (IOException | RuntimeException e) {
+            log.error("Product import aborted", e);
+            report.setStatus("FAILED");
+            report.setMessage(e.getMessage());
+        } finally {
+            report.setElapsedMillis(System.currentTimeMillis() - start);
+            try {
+                if (report.getImported() > 0) {
+                    productTextIndex.rebuild();
+                    suggestionIndex.rebuild();
+                    productCache.evictAll();
+                    resourceVersions.touch(ResourceVersions.PRODUCTS);
+                }
+            } finally {
+                running.unlock();
+            }
+        }
+        log.info("Product import {}: {} rows, {} imported, {} failed in {} ms", report.getStatus(),
+                report.getRows(), report.getImported(), report.getFailed(), report.getElapsedMillis());
+        return report;
+    }
+
+    // Snapshot of the running (or last) import, for progress polling
+    public ImportReport status() {
+        ImportReport report = current;
+        if (report == null) {
+            return null;
+        }
+        synchronized (report) {
+            ImportReport copy = new ImportReport();
+            copy.setFormat(report.getFormat());
+            copy.setStatus(report.getStatus());
+            copy.setRows(report.getRows());
+            copy.setImported(report.getImported());
+            copy.setFailed(report.getFailed());
+            copy.setElapsedMillis(report.getElapsedMillis());
+            copy.setMessage(report.getMessage());
+            copy.setErrors(new ArrayList<>(report.getErrors()));
+            return copy;
+        }
+    }
+
+    private void flush(ImportReport report, List<ProductImportRow> chunk, List<Long> lines, long start) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeChunk(chunk));
+            synchronized (report) {
+                report.setImported(report.getImported() + chunk.size());
+                report.setElapsedMillis(System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Import chunk at lines {}-{} rolled back", lines.get(0), lines.get(lines.size() - 1), e);
+            synchronized (report) {
+                fail(report, lines.get(0), "Chunk up to line " + lines.get(lines.size() - 1)
+                        + " rolled back: " + e.getMessage(), chunk.size());
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    // Ids come from the same pooled sequences Hibernate uses, so nothing needs generated keys back
+    private void writeChunk(List<ProductImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long productId = idSequences.reserve(IdSequences.PRODUCTS, rows.size());
+        List<Object[]> products = new ArrayList<>(rows.size());
+        List<Object[]> images = new ArrayList<>();
+        List<Object[]> variants = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            // Same rule as Product.refreshEffectiveValues()
+            BigDecimal minPrice = row.getVariants().stream().map(ProductImportRow.Variant::getPrice)
+                    .filter(Objects::nonNull).min(BigDecimal::compareTo).orElse(row.getPrice());
+            BigDecimal maxPrice = row.getVariants().stream().map(ProductImportRow.Variant::getPrice)
+                    .filter(Objects::nonNull).max(BigDecimal::compareTo).orElse(row.getPrice());
+            Integer totalStock = row.getVariants().isEmpty() ? row.getQuantity() : row.getVariants().stream()
+                    .mapToInt(v -> v.getStockQuantity() == null ? 0 : v.getStockQuantity()).sum();
+            products.add(new Object[] { productId, row.getName().trim(), row.getPrice(), row.getQuantity(),
+                    row.getWattage(), row.getImageUrl(), row.getDescription(), row.getSpecifications(),
+                    row.getCategoryId(), now, minPrice, maxPrice, totalStock });
+            for (String url : row.getImages()) {
+                images.add(new Object[] { null, url, productId });
+            }
+            for (ProductImportRow.Variant v : row.getVariants()) {
+                variants.add(new Object[] { null, v.getColor(), v.getSpecifications(), v.getPrice(),
+                        v.getStockQuantity(), v.getImageUrl(), productId });
+            }
+            productId++;
+        }
+        assignIds(images, IdSequences.PRODUCT_IMAGES);
+        assignIds(variants, IdSequences.PRODUCT_VARIANTS);
+
+        List<Object[]> attributes = new ArrayList<>();
+        for (Object[] product : products) {
+            productAttributeService.collect(attributes, (Long) product[0], 0L, (String) product[7]);
+        }
+        for (Object[] variant : variants) {
+            productAttributeService.collect(attributes, (Long) variant[6], (Long) variant[0], (String) variant[2]);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, new int[] { Types.BIGINT, Types.VARCHAR, Types.DECIMAL,
+                Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.LONGVARCHAR, Types.LONGVARCHAR, Types.BIGINT,
+                Types.TIMESTAMP, Types.DECIMAL, Types.DECIMAL, Types.INTEGER });
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE, images, new int[] { Types.BIGINT, Types.VARCHAR, Types.BIGINT });
+        }
+        if (!variants.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_VARIANT, variants, new int[] { Types.BIGINT, Types.VARCHAR,
+                    Types.LONGVARCHAR, Types.DECIMAL, Types.INTEGER, Types.VARCHAR, Types.BIGINT });
+        }
+        productAttributeService.insert(attributes);
+    }
+
+    private void assignIds(List<Object[]> rows, String sequence) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long id = idSequences.reserve(sequence, rows.size());
+        for (Object[] row : rows) {
+            row[0] = id++;
+        }
+    }
+
+    // Validates the row and fills categoryId; returns an error message or null
+    private static String resolve(ProductImportRow row, Map<Long, Long> categoryIds, Map<String, Long> categoryNames) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "name is required";
+        }
+        if (row.getPrice() == null || row.getPrice().signum() < 0) {
+            return "price is required and must not be negative";
+        }
+        Long categoryId = row.getCategoryId() != null
+                ? categoryIds.get(row.getCategoryId())
+                : row.getCategory() == null ? null : categoryNames.get(row.getCategory().trim().toLowerCase(Locale.ROOT));
+        if (categoryId == null) {
+            return "unknown category " + (row.getCategoryId() != null ? row.getCategoryId() : row.getCategory());
+        }
+        row.setCategoryId(categoryId);
+        if (row.getImages() == null) {
+            row.setImages(List.of());
+        }
+        if (row.getVariants() == null) {
+            row.setVariants(List.of());
+        }
+        // Same rule as the admin form: stock is the sum of the variants when there are any
+        if (row.getQuantity() == null && !row.getVariants().isEmpty()) {
+            row.setQuantity(row.getVariants().stream()
+                    .mapToInt(v -> v.getStockQuantity() == null ? 0 : v.getStockQuantity())
+                    .sum());
+        }
+        return null;
+    }
+
+    private static void fail(ImportReport report, long line, String message, long rows) {
+        report.setFailed(report.getFailed() + rows);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(line, message));
+        }
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] line = { 0 };
+        return () -> {
+            String text;
+            do {
+                text = reader.readLine();
+                line[0]++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new ParsedRow(line[0], objectMapper.readValue(text, ProductImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line[0], null, "invalid JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    // Header names match ProductImportRow fields; "images" holds URLs separated by '|'
+    private static RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        return () -> {
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            long line = csv.recordLine();
+            try {
+                ProductImportRow row = new ProductImportRow();
+                row.setName(field(fields, columns, "name"));
+                String price = field(fields, columns, "price");
+                row.setPrice(price == null ? null : new BigDecimal(price));
+                row.setQuantity(intField(fields, columns, "quantity"));
+                row.setWattage(intField(fields, columns, "wattage"));
+                row.setImageUrl(field(fields, columns, "imageUrl"));
+                String categoryId = field(fields, columns, "categoryId");
+                row.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId));
+                row.setCategory(field(fields, columns, "category"));
+                row.setDescription(field(fields, columns, "description"));
+                row.setSpecifications(field(fields, columns, "specifications"));
+                String images = field(fields, columns, "images");
+                if (images != null) {
+                    row.setImages(Arrays.stream(images.split("\\|")).map(String::trim).filter(s -> !s.isEmpty())
+                            .toList());
+                }
+                return new ParsedRow(line, row, null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(line, null, "invalid number: " + e.getMessage());
+            }
+        };
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer intField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        return value == null ? null : Integer.valueOf(value.trim());
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long line, ProductImportRow row, String error) {
+    }
+}
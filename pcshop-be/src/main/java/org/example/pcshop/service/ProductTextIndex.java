@@ -0,0 +1,239 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, description and specifications,
+ * ranked with BM25. Loaded once at startup and kept current by the product
+ * write endpoints, so text search never runs a LIKE scan against MySQL. A
+ * rebuild reads the table without holding the lock, so searches keep being
+ * answered meanwhile; writes that land during the read are replayed on top.
+ */
+@Component
+@Slf4j
+public class ProductTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3; // a hit in the name counts like three hits in the body
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (productId -> weighted term frequency)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // productId -> its terms, so an update can retract the old postings
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+    // While a rebuild reads the table: writes seen since it started, replayed over the rows it read.
+    // A null value is a removal. Guarded by the write lock
+    private Map<Long, Document> replay;
+
+    public ProductTextIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Synchronized so two rebuilds (startup and an import) never share one replay log
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            replay = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Object[]> rows = null;
+        try {
+            rows = productRepository.findAllSearchText();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rows != null) {
+                    postings.clear();
+                    documents.clear();
+                    documentLengths.clear();
+                    totalLength = 0;
+                    for (Object[] row : rows) {
+                        add((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+                    }
+                    // The rows may predate these writes; the writes are newer, so they win
+                    replay.forEach((id, document) -> {
+                        retract(id);
+                        if (document != null) {
+                            add(id, document.name(), document.description(), document.specifications());
+                        }
+                    });
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} products for text search in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            retract(product.getId());
+            add(product.getId(), product.getName(), product.getDescription(), product.getSpecifications());
+            if (replay != null) {
+                replay.put(product.getId(),
+                        new Document(product.getName(), product.getDescription(), product.getSpecifications()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            retract(productId);
+            if (replay != null) {
+                replay.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Product ids matching every query token, best BM25 score first. The last
+     * token also matches as a prefix so partially typed words still hit.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            double avgLength = n == 0 ? 0 : (double) totalLength / n;
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1;
+                Map<Long, Double> termScores = scoreToken(tokens.get(i), prefix, n, avgLength);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> merged = new HashMap<>();
+                    for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                        Double other = termScores.get(e.getKey());
+                        if (other != null) {
+                            merged.put(e.getKey(), e.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token, boolean prefix, int n, double avgLength) {
+        Map<Long, Double> result = new HashMap<>();
+        Iterable<Map.Entry<String, Map<Long, Integer>>> terms = prefix
+                ? postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()
+                : exact(token);
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Integer>> term : terms) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<Long, Integer> docs = term.getValue();
+            double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                int tf = posting.getValue();
+                int length = documentLengths.get(posting.getKey());
+                double norm = tf + K1 * (1 - B + B * length / avgLength);
+                // a prefix can expand to several terms of one document; keep its best
+                result.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Math::max);
+            }
+        }
+        return result;
+    }
+
+    private Set<Map.Entry<String, Map<Long, Integer>>> exact(String token) {
+        Map<Long, Integer> docs = postings.get(token);
+        return docs == null ? Set.of() : Set.of(Map.entry(token, docs));
+    }
+
+    private void add(Long id, String name, String description, String specifications) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : TextNormalizer.tokenize(name)) {
+            terms.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : TextNormalizer.tokenize(description)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        for (String token : TextNormalizer.tokenize(specifications)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(id, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(id, terms);
+        documentLengths.put(id, length);
+        totalLength += length;
+    }
+
+    private record Document(String name, String description, String specifications) {
+    }
+
+    private void retract(Long id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.pcshop.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change stamps for cacheable GET resources, built from what is persisted: a
+ * collection's row count plus its max(updated_at), or one product's
+ * updated_at. Writes from another instance, a script or a restart therefore
+ * still change the ETag. Stamps are cached in memory for a short TTL; write
+ * paths in this JVM call {@link #touch} so their changes show up at once.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+    public static final String BANNERS = "banners";
+    public static final String NEWS = "news";
+
+    private static final String PRODUCT_PREFIX = "product:";
+
+    private static final Map<String, String> COLLECTIONS = Map.of(
+            PRODUCTS, "select count(*), max(updated_at) from products",
+            CATEGORIES, "select count(*), max(updated_at) from categories",
+            BANNERS, "select count(*), max(updated_at) from banners",
+            NEWS, "select count(*), max(updated_at) from news");
+
+    private static final String PRODUCT = "select 1, updated_at from products where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, Stamp> stamps = new ConcurrentHashMap<>();
+    // Bumped by every touch, so a read that overlapped a write is not cached
+    private final AtomicLong touches = new AtomicLong();
+
+    public ResourceVersions(JdbcTemplate jdbcTemplate,
+            @Value("${pcshop.etag.ttl:5s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public static String product(Long id) {
+        return PRODUCT_PREFIX + id;
+    }
+
+    // Drops the cached stamps, so the next check reads them from the database again
+    public void touch(String... keys) {
+        touches.incrementAndGet();
+        for (String key : keys) {
+            stamps.remove(key);
+        }
+    }
+
+    /**
+     * Sets ETag and Last-Modified on the response and returns true when the
+     * request's validators still match, in which case the caller returns null.
+     */
+    public boolean checkNotModified(WebRequest request, String... keys) {
+        StringBuilder etag = new StringBuilder();
+        long lastModified = 0;
+        for (String key : keys) {
+            Stamp stamp = stamp(key);
+            if (!etag.isEmpty()) {
+                etag.append('-');
+            }
+            etag.append(stamp.rows()).append('.').append(Long.toString(stamp.modifiedMicros(), 36));
+            lastModified = Math.max(lastModified, stamp.modifiedMicros() / 1000);
+        }
+        // Let browsers keep the body but revalidate every time; this also stops
+        // Spring Security from writing its default no-store header
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+        }
+        return request.checkNotModified(etag.toString(), lastModified);
+    }
+
+    private Stamp stamp(String key) {
+        long now = System.currentTimeMillis();
+        Stamp cached = stamps.get(key);
+        if (cached != null && now - cached.readAt() < ttlMillis) {
+            return cached;
+        }
+        long seen = touches.get();
+        Stamp fresh = read(key, now);
+        if (touches.get() == seen) {
+            stamps.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    private Stamp read(String key, long now) {
+        List<Stamp> rows;
+        if (key.startsWith(PRODUCT_PREFIX)) {
+            long id = Long.parseLong(key.substring(PRODUCT_PREFIX.length()));
+            rows = jdbcTemplate.query(PRODUCT, (rs, i) -> new Stamp(rs.getLong(1), micros(rs.getTimestamp(2)), now), id);
+        } else {
+            String sql = COLLECTIONS.get(key);
+            if (sql == null) {
+                throw new IllegalArgumentException("Unknown resource " + key);
+            }
+            rows = jdbcTemplate.query(sql, (rs, i) -> new Stamp(rs.getLong(1), micros(rs.getTimestamp(2)), now));
+        }
+        // A missing product still gets a stable stamp; the read path answers it with its own error
+        return rows.isEmpty() ? new Stamp(0, 0, now) : rows.get(0);
+    }
+
+    // updated_at keeps microseconds, so two writes in the same millisecond still differ
+    private static long micros(Timestamp timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000 + timestamp.getNanos() / 1000;
+    }
+
+    private record Stamp(long rows, long modifiedMicros, long readAt) {
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.dto.SalesDashboard;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.OrderItem;
+import org.example.pcshop.entity.OrderStatus;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps sales_daily_status and sales_daily_product in step with orders so the
+ * admin dashboard reads a few hundred pre-aggregated rows instead of scanning
+ * orders and order_items. Writes are deltas applied in the order's own
+ * transaction; {@link #rebuild()} recomputes both tables from scratch.
+ */
+@Service
+@Slf4j
+public class SalesRollupService {
+
+    public static final String CANCELLED = OrderStatus.CANCELLED.name();
+
+    // Must match mod(id, SLOTS) in REBUILD_STATUS
+    private static final int SLOTS = 8;
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 366;
+    private static final int DEFAULT_TOP = 5;
+    private static final int MAX_TOP = 20;
+
+    private static final String ADD_STATUS = "insert into sales_daily_status (day, status, slot, orders, revenue) "
+            + "values (?, ?, ?, ?, ?) "
+            + "on duplicate key update orders = orders + values(orders), revenue = revenue + values(revenue)";
+    private static final String ADD_PRODUCT = "insert into sales_daily_product "
+            + "(day, product_id, category_id, units, revenue) values (?, ?, ?, ?, ?) "
+            + "on duplicate key update units = units + values(units), revenue = revenue + values(revenue)";
+    private static final int[] ADD_PRODUCT_TYPES = { Types.DATE, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+            Types.DECIMAL };
+
+    // Both rebuilds read live and archived orders, so archiving never changes the totals
+    private static final String REBUILD_STATUS = "insert into sales_daily_status (day, status, slot, orders, revenue) "
+            + "select date(created_at), status, mod(id, " + SLOTS + "), count(*), coalesce(sum(total_price), 0) "
+            + "from (select id, created_at, status, total_price from orders "
+            + "union all select id, created_at, status, total_price from orders_archive) o "
+            + "where status is not null group by date(created_at), status, mod(id, " + SLOTS + ")";
+    // History has no category snapshot, so rebuilt rows take the product's current category
+    private static final String REBUILD_PRODUCT = "insert into sales_daily_product "
+            + "(day, product_id, category_id, units, revenue) "
+            + "select date(i.created_at), i.product_id, max(p.category_id), sum(i.quantity), sum(i.price * i.quantity) "
+            + "from (select i.product_id, i.quantity, i.price, o.created_at, o.status "
+            + "from order_items i join orders o on o.id = i.order_id "
+            + "union all select i.product_id, i.quantity, i.price, o.created_at, o.status "
+            + "from order_items_archive i join orders_archive o on o.id = i.order_id) i "
+            + "left join products p on p.id = i.product_id "
+            + "where i.product_id is not null and (i.status is null or i.status <> '" + CANCELLED + "') "
+            + "group by date(i.created_at), i.product_id";
+
+    private static final String TOP_PRODUCTS = "select g.category_id, c.name, g.product_id, p.name, g.units, g.revenue "
+            + "from (select category_id, product_id, units, revenue, "
+            + "row_number() over (partition by category_id order by units desc, revenue desc, product_id) as rn "
+            + "from (select category_id, product_id, sum(units) as units, sum(revenue) as revenue "
+            + "from sales_daily_product where day between ? and ? group by category_id, product_id) s "
+            + "where units > 0) g "
+            + "left join products p on p.id = g.product_id left join categories c on c.id = g.category_id "
+            + "where g.rn <= ? order by g.category_id, g.rn";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Fills the tables the first time the app runs with orders but no rollups
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        boolean empty = !jdbcTemplate.queryForObject("select exists(select 1 from sales_daily_status)", Boolean.class);
+        boolean hasOrders = jdbcTemplate.queryForObject("select exists(select 1 from orders)", Boolean.class);
+        if (empty && hasOrders) {
+            rebuild();
+        }
+    }
+
+    /** Adds a newly saved order; its id must already be assigned. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Order order) {
+        Deltas deltas = new Deltas();
+        deltas.addStatus(order, order.getStatus(), 1);
+        if (!CANCELLED.equals(order.getStatus())) {
+            deltas.addItems(order, 1);
+        }
+        apply(deltas);
+    }
+
+    /** Moves an order from one status to another; product sales change only when it enters or leaves CANCELLED. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, String from, String to) {
+        recordStatusChanges(List.of(order), Collections.singletonMap(order.getId(), from), to);
+    }
+
+    /** Same as {@link #recordStatusChange} for many orders, written as one batch per table. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<Order> orders, Map<Long, String> previous, String to) {
+        Deltas deltas = new Deltas();
+        for (Order order : orders) {
+            String from = previous.get(order.getId());
+            if (Objects.equals(from, to)) {
+                continue;
+            }
+            deltas.addStatus(order, from, -1);
+            deltas.addStatus(order, to, 1);
+            boolean wasCounted = !CANCELLED.equals(from);
+            boolean isCounted = !CANCELLED.equals(to);
+            if (wasCounted != isCounted) {
+                deltas.addItems(order, isCounted ? 1 : -1);
+            }
+        }
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Order order) {
+        Deltas deltas = new Deltas();
+        deltas.addStatus(order, order.getStatus(), -1);
+        if (!CANCELLED.equals(order.getStatus())) {
+            deltas.addItems(order, -1);
+        }
+        apply(deltas);
+    }
+
+    // Recomputes both tables in one transaction; returns the rows written per table
+    public Map<String, Integer> rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("delete from sales_daily_status");
+            jdbcTemplate.update("delete from sales_daily_product");
+            Map<String, Integer> written = new LinkedHashMap<>();
+            written.put("statusRows", jdbcTemplate.update(REBUILD_STATUS));
+            written.put("productRows", jdbcTemplate.update(REBUILD_PRODUCT));
+            return written;
+        });
+        log.info("Rebuilt sales rollups {} in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public SalesDashboard dashboard(LocalDate from, LocalDate to, Integer top) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate begin = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+        if (begin.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(begin, end) >= MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range is limited to " + MAX_DAYS + " days");
+        }
+        int limit = top == null ? DEFAULT_TOP : Math.max(1, Math.min(top, MAX_TOP));
+        Date fromDate = Date.valueOf(begin);
+        Date toDate = Date.valueOf(end);
+
+        List<SalesDashboard.Day> days = jdbcTemplate.query(
+                "select day, sum(orders), sum(revenue) from sales_daily_status "
+                        + "where day between ? and ? and status <> ? group by day order by day",
+                (rs, i) -> new SalesDashboard.Day(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getBigDecimal(3)),
+                fromDate, toDate, CANCELLED);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        jdbcTemplate.query("select status, sum(orders) from sales_daily_status "
+                + "where day between ? and ? group by status order by status",
+                rs -> {
+                    byStatus.put(rs.getString(1), rs.getLong(2));
+                }, fromDate, toDate);
+
+        List<SalesDashboard.CategorySales> categories = new ArrayList<>();
+        jdbcTemplate.query(TOP_PRODUCTS, rs -> {
+            Long categoryId = rs.getObject(1, Long.class);
+            SalesDashboard.CategorySales current = categories.isEmpty() ? null : categories.get(categories.size() - 1);
+            if (current == null || !Objects.equals(current.getCategoryId(), categoryId)) {
+                current = new SalesDashboard.CategorySales(categoryId, rs.getString(2), new ArrayList<>());
+                categories.add(current);
+            }
+            current.getProducts().add(new SalesDashboard.ProductSales(rs.getLong(3), rs.getString(4),
+                    rs.getLong(5), rs.getBigDecimal(6)));
+        }, fromDate, toDate, limit);
+
+        return new SalesDashboard(begin, end, days, byStatus, categories);
+    }
+
+    // Rows go out in key order (products by id, like the stock reservation), so locks are taken consistently
+    private void apply(Deltas deltas) {
+        if (!deltas.status.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_STATUS, new ArrayList<>(deltas.status.values()));
+        }
+        if (!deltas.products.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_PRODUCT, new ArrayList<>(deltas.products.values()), ADD_PRODUCT_TYPES);
+        }
+    }
+
+    // Net changes per rollup row, so several orders touching one row cost one upsert
+    private static class Deltas {
+        private final SortedMap<String, Object[]> status = new TreeMap<>();
+        private final SortedMap<String, Object[]> products = new TreeMap<>();
+
+        void addStatus(Order order, String orderStatus, int sign) {
+            if (orderStatus == null) {
+                return;
+            }
+            LocalDate day = day(order);
+            int slot = Math.floorMod(order.getId(), SLOTS);
+            BigDecimal revenue = order.getTotalPrice() == null ? BigDecimal.ZERO : order.getTotalPrice();
+            Object[] row = status.computeIfAbsent(day + "|" + orderStatus + "|" + slot,
+                    k -> new Object[] { Date.valueOf(day), orderStatus, slot, 0L, BigDecimal.ZERO });
+            row[3] = (Long) row[3] + sign;
+            row[4] = ((BigDecimal) row[4]).add(sign < 0 ? revenue.negate() : revenue);
+        }
+
+        void addItems(Order order, int sign) {
+            if (order.getItems() == null) {
+                return;
+            }
+            LocalDate day = day(order);
+            for (OrderItem item : order.getItems()) {
+                if (item.getProduct() == null) {
+                    continue;
+                }
+                Long productId = item.getProduct().getId();
+                BigDecimal lineTotal = item.getPrice() == null ? BigDecimal.ZERO
+                        : item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+                // zero-padded id keeps string order equal to numeric order
+                Object[] row = products.computeIfAbsent(String.format("%019d|%s", productId, day),
+                        k -> new Object[] { Date.valueOf(day), productId,
+                                item.getProduct().getCategory() == null ? null : item.getProduct().getCategory().getId(),
+                                0L, BigDecimal.ZERO });
+                row[3] = (Long) row[3] + (long) sign * item.getQuantity();
+                row[4] = ((BigDecimal) row[4]).add(sign < 0 ? lineTotal.negate() : lineTotal);
+            }
+        }
+    }
+
+    private static LocalDate day(Order order) {
+        return order.getCreatedAt() == null ? LocalDate.now() : order.getCreatedAt().toLocalDate();
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.pcshop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a specifications string into attributes. Understands the three shapes
+ * stored today: the admin form's JSON array of {key, value}, a legacy JSON
+ * object, and plain text such as "RAM: 16GB, SSD: 512GB" (one pair per line,
+ * or comma/semicolon separated).
+ */
+public final class SpecParser {
+
+    public record Attribute(String name, String text, BigDecimal number, String unit) {
+    }
+
+    public record Measure(BigDecimal number, String unit) {
+    }
+
+    // Bump whenever parsing changes; stored attributes from an older version are re-parsed at startup
+    public static final int VERSION = 2;
+
+    private static final int MAX_NAME_LENGTH = 64;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // A comma only separates pairs when a "key:" follows it, so "2x16GB, DDR5" stays one value
+    private static final Pattern PAIR_SEPARATOR = Pattern.compile("[\\n;]+|,(?=[^,:]{1,40}:)");
+    // Numbers count only as whole tokens: digits glued to letters ("DDR5", "i7", "LGA1700") are part of a name
+    private static final String TOKEN_START = "(?<![a-z0-9.,])";
+    private static final Pattern MULTIPLIED = Pattern.compile(
+            TOKEN_START + "(\\d+)\\s*x\\s*(\\d+(?:[.,]\\d+)?)\\s*(tb|gb|mb)\\b");
+    private static final Pattern NUMBER = Pattern.compile(
+            TOKEN_START + "(\\d+(?:[.,]\\d+)?)(?![.,]?\\d)\\s*(tb|gb|mb|ghz|mhz|hz|w|inch|mm)?(?![a-z0-9])");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("memory", "ram"),
+            Map.entry("bo nho", "ram"),
+            Map.entry("bo nho trong", "ram"),
+            Map.entry("dung luong ram", "ram"),
+            Map.entry("bo nho do hoa", "vram"),
+            Map.entry("video memory", "vram"),
+            Map.entry("gpu memory", "vram"),
+            Map.entry("cpu socket", "socket"),
+            Map.entry("o cung", "storage"),
+            Map.entry("luu tru", "storage"),
+            Map.entry("cong suat", "wattage"),
+            Map.entry("power", "wattage"),
+            Map.entry("man hinh", "display"),
+            Map.entry("screen", "display"));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SpecParser() {
+    }
+
+    public static List<Attribute> parse(String specifications) {
+        if (specifications == null || specifications.isBlank()) {
+            return List.of();
+        }
+        // Later duplicates of a key win, the same as reading the table top to bottom
+        Map<String, Attribute> attributes = new LinkedHashMap<>();
+        String trimmed = specifications.trim();
+        if (trimmed.startsWith("[") || trimmed.startsWith("{")) {
+            try {
+                JsonNode root = MAPPER.readTree(trimmed);
+                if (root.isArray()) {
+                    for (JsonNode item : root) {
+                        add(attributes, item.path("key").asText(""), item.path("value").asText(""));
+                    }
+                } else {
+                    root.properties().forEach(e -> add(attributes, e.getKey(), e.getValue().asText("")));
+                }
+                return new ArrayList<>(attributes.values());
+            } catch (Exception e) {
+                // not JSON after all; fall through to the text format
+            }
+        }
+        for (String pair : PAIR_SEPARATOR.split(trimmed)) {
+            int colon = pair.indexOf(':');
+            if (colon > 0) {
+                add(attributes, pair.substring(0, colon), pair.substring(colon + 1));
+            }
+        }
+        return new ArrayList<>(attributes.values());
+    }
+
+    public static String canonicalName(String key) {
+        String folded = SPACES.matcher(TextNormalizer.fold(key).trim()).replaceAll(" ");
+        String name = ALIASES.getOrDefault(folded, folded);
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+
+    public static String canonicalText(String value) {
+        String folded = SPACES.matcher(TextNormalizer.fold(value).trim()).replaceAll(" ");
+        return folded.length() > MAX_TEXT_LENGTH ? folded.substring(0, MAX_TEXT_LENGTH) : folded;
+    }
+
+    /**
+     * The value's quantity in base units: sizes in GB, frequencies in MHz.
+     * "2x16GB" counts as 32 GB. The first number with a unit wins over bare
+     * numbers, so "GDDR6 8GB" is 8 GB. Returns null when there is no number.
+     */
+    public static Measure measure(String value) {
+        String folded = TextNormalizer.fold(value);
+        Matcher multiplied = MULTIPLIED.matcher(folded);
+        if (multiplied.find()) {
+            BigDecimal total = new BigDecimal(multiplied.group(1))
+                    .multiply(number(multiplied.group(2)));
+            return normalize(total, multiplied.group(3));
+        }
+        Matcher matcher = NUMBER.matcher(folded);
+        Measure bare = null;
+        while (matcher.find()) {
+            if (matcher.group(2) != null) {
+                return normalize(number(matcher.group(1)), matcher.group(2));
+            }
+            if (bare == null) {
+                bare = new Measure(number(matcher.group(1)), null);
+            }
+        }
+        return bare;
+    }
+
+    private static void add(Map<String, Attribute> attributes, String key, String value) {
+        String name = canonicalName(key);
+        String text = canonicalText(value);
+        if (name.isEmpty() || text.isEmpty()) {
+            return;
+        }
+        Measure measure = measure(value);
+        attributes.put(name, new Attribute(name, text,
+                measure == null ? null : measure.number(), measure == null ? null : measure.unit()));
+    }
+
+    private static BigDecimal number(String text) {
+        return new BigDecimal(text.replace(',', '.'));
+    }
+
+    private static Measure normalize(BigDecimal number, String unit) {
+        if (unit == null) {
+            return new Measure(number, null);
+        }
+        return switch (unit) {
+            case "tb" -> new Measure(number.multiply(BigDecimal.valueOf(1024)), "gb");
+            case "mb" -> new Measure(number.divide(BigDecimal.valueOf(1024), 4, RoundingMode.HALF_UP), "gb");
+            case "ghz" -> new Measure(number.multiply(BigDecimal.valueOf(1000)), "mhz");
+            case "hz" -> new Measure(number, "hz");
+            default -> new Measure(number, unit);
+        };
+    }
+}
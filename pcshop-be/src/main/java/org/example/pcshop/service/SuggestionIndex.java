@@ -0,0 +1,231 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.dto.SuggestItem;
+import org.example.pcshop.dto.Suggestions;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.repository.CategoryRepository;
+import org.example.pcshop.repository.ArchivedOrderRepository;
+import org.example.pcshop.repository.OrderRepository;
+import org.example.pcshop.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Typeahead index: a sorted map from accent-folded text to entries, where
+ * every word of a name starts its own key ("laptop asus tuf", "asus tuf",
+ * "tuf"), so a prefix range scan finds matches on any word. Products rank by
+ * units sold, keywords by how many products use them, categories by name length.
+ */
+@Component
+@Slf4j
+public class SuggestionIndex {
+
+    // Bounds the work for very short prefixes; ranking is exact within this many keys
+    private static final int MAX_SCANNED_KEYS = 20000;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    private final ConcurrentSkipListMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+    private final Map<Long, ProductEntry> products = new ConcurrentHashMap<>();
+    private final Map<Long, List<String>> categoryKeys = new ConcurrentHashMap<>();
+    private final Map<String, KeywordEntry> keywords = new ConcurrentHashMap<>();
+    // Replaced wholesale by rebuild(), so re-running it never counts a sale twice
+    private volatile Map<Long, Long> unitsSold = new ConcurrentHashMap<>();
+
+    public SuggestionIndex(ProductRepository productRepository, CategoryRepository categoryRepository,
+            OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, Long> sold = new ConcurrentHashMap<>();
+        for (Object[] row : orderRepository.sumQuantityByProduct()) {
+            sold.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        for (Object[] row : archivedOrderRepository.sumQuantityByProduct()) {
+            if (row[0] != null) {
+                sold.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        unitsSold = sold;
+        List<Object[]> rows = productRepository.findAllSuggestionRows();
+        for (Object[] row : rows) {
+            put((Long) row[0], (String) row[1], (String) row[2], (BigDecimal) row[3]);
+        }
+        refreshCategories();
+        log.info("Suggestion index built: {} products, {} keys in {} ms", rows.size(), keys.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    public void index(Product product) {
+        put(product.getId(), product.getName(), product.getImageUrl(), product.getPrice());
+    }
+
+    public synchronized void remove(Long productId) {
+        ProductEntry old = products.remove(productId);
+        if (old != null) {
+            old.keys.forEach(keys::remove);
+            old.tokens.forEach(this::releaseKeyword);
+        }
+    }
+
+    public synchronized void refreshCategories() {
+        categoryKeys.values().forEach(list -> list.forEach(keys::remove));
+        categoryKeys.clear();
+        for (Object[] row : categoryRepository.findAllTreeRows()) {
+            Long id = (Long) row[0];
+            String name = (String) row[1];
+            Entry entry = new Entry("CATEGORY", id, name, null, null);
+            List<String> added = new ArrayList<>();
+            for (String suffix : wordSuffixes(name)) {
+                String key = suffix + KEY_SEPARATOR + "c" + id;
+                keys.put(key, entry);
+                added.add(key);
+            }
+            categoryKeys.put(id, added);
+        }
+    }
+
+    public void recordSale(Long productId, int quantity) {
+        unitsSold.merge(productId, (long) quantity, Long::sum);
+    }
+
+    public Suggestions suggest(String query, int limit) {
+        String prefix = String.join(" ", TextNormalizer.tokenize(query));
+        if (prefix.isEmpty()) {
+            return new Suggestions(List.of(), List.of(), List.of());
+        }
+        TopK productTop = new TopK(limit);
+        TopK categoryTop = new TopK(limit);
+        TopK keywordTop = new TopK(limit);
+        Set<String> seen = new HashSet<>();
+
+        NavigableMap<String, Entry> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        int scanned = 0;
+        for (Entry entry : range.values()) {
+            if (scanned++ == MAX_SCANNED_KEYS) {
+                break;
+            }
+            // a name can match on several of its words; count it once
+            if (!seen.add(entry.type + entry.id + entry.text)) {
+                continue;
+            }
+            switch (entry.type) {
+                case "PRODUCT" -> productTop.offer(entry, unitsSold.getOrDefault(entry.id, 0L));
+                case "CATEGORY" -> categoryTop.offer(entry, -entry.text.length());
+                default -> {
+                    KeywordEntry keyword = keywords.get(TextNormalizer.fold(entry.text));
+                    keywordTop.offer(entry, keyword == null ? 0 : keyword.products);
+                }
+            }
+        }
+        return new Suggestions(productTop.result(), categoryTop.result(), keywordTop.result());
+    }
+
+    private synchronized void put(Long id, String name, String imageUrl, BigDecimal price) {
+        remove(id);
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry("PRODUCT", id, name, imageUrl, price);
+        List<String> added = new ArrayList<>();
+        for (String suffix : wordSuffixes(name)) {
+            String key = suffix + KEY_SEPARATOR + "p" + id;
+            keys.put(key, entry);
+            added.add(key);
+        }
+        // Name words double as keyword suggestions (brands, series); there is no brand column
+        List<String> tokens = new ArrayList<>();
+        for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+            String folded = TextNormalizer.fold(word);
+            if (folded.length() < 2 || folded.chars().allMatch(Character::isDigit) || tokens.contains(folded)) {
+                continue;
+            }
+            tokens.add(folded);
+            KeywordEntry keyword = keywords.computeIfAbsent(folded, k -> {
+                keys.put(k + KEY_SEPARATOR + "k", new Entry("KEYWORD", null, word, null, null));
+                return new KeywordEntry();
+            });
+            keyword.products++;
+        }
+        products.put(id, new ProductEntry(added, tokens));
+    }
+
+    private void releaseKeyword(String folded) {
+        KeywordEntry keyword = keywords.get(folded);
+        if (keyword != null && --keyword.products <= 0) {
+            keywords.remove(folded);
+            keys.remove(folded + KEY_SEPARATOR + "k");
+        }
+    }
+
+    private static List<String> wordSuffixes(String text) {
+        List<String> tokens = TextNormalizer.tokenize(text);
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            suffixes.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return suffixes;
+    }
+
+    private record Entry(String type, Long id, String text, String imageUrl, BigDecimal price) {
+    }
+
+    private record ProductEntry(List<String> keys, List<String> tokens) {
+    }
+
+    private static class KeywordEntry {
+        private int products;
+    }
+
+    // Keeps the k highest-scoring entries seen so far
+    private static class TopK {
+        private final int k;
+        private final PriorityQueue<Map.Entry<Long, Entry>> heap = new PriorityQueue<>(
+                Comparator.comparing((Map.Entry<Long, Entry> e) -> e.getKey()));
+
+        TopK(int k) {
+            this.k = k;
+        }
+
+        void offer(Entry entry, long score) {
+            heap.offer(Map.entry(score, entry));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<SuggestItem> result() {
+            List<Map.Entry<Long, Entry>> sorted = new ArrayList<>(heap);
+            sorted.sort(Comparator.comparing((Map.Entry<Long, Entry> e) -> e.getKey()).reversed()
+                    .thenComparing(e -> e.getValue().text));
+            return sorted.stream()
+                    .map(e -> new SuggestItem(e.getValue().type, e.getValue().id, e.getValue().text,
+                            e.getValue().imageUrl, e.getValue().price))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.pcshop;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts every SQL statement Hibernate prepares. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        // A JDBC batch is prepared once, so this counts insert round trips, not rows
+        if (sql.regionMatches(true, 0, "insert", 0, 6)) {
+            INSERTS.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+        INSERTS.set(0);
+    }
+
+    public static int inserts() {
+        return INSERTS.get();
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+}
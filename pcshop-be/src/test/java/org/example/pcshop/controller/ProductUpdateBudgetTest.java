@@ -0,0 +1,140 @@
+package org.example.pcshop.controller;
+
+import jakarta.persistence.EntityManager;
+import org.example.pcshop.StatementCounter;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductVariant;
+import org.example.pcshop.repository.CategoryRepository;
+import org.example.pcshop.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Editing a product with 50 variants: the update must touch only the rows that
+ * changed and keep variant ids stable.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.pcshop.StatementCounter")
+@Transactional
+class ProductUpdateBudgetTest {
+
+    private static final int VARIANTS = 50;
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void unchangedEditWritesNothingForChildren() {
+        Product product = createProductWithVariants();
+        List<Long> idsBefore = variantIds(product);
+
+        StatementCounter.reset();
+        productController.update(product.getId(), payload(product));
+        entityManager.flush();
+        int used = StatementCounter.count();
+
+        // product+category+images, variants
+        assertTrue(used <= 2, "unchanged edit used " + used + " statements");
+        assertEquals(idsBefore, variantIds(productRepository.findById(product.getId()).orElseThrow()));
+    }
+
+    @Test
+    void editingOneVariantUpdatesOneRow() {
+        Product product = createProductWithVariants();
+        List<Long> idsBefore = variantIds(product);
+
+        Product payload = payload(product);
+        payload.getVariants().get(7).setPrice(new BigDecimal("19990000"));
+        payload.getVariants().remove(VARIANTS - 1);
+        ProductVariant added = new ProductVariant();
+        added.setColor("White");
+        added.setPrice(new BigDecimal("21990000"));
+        added.setStockQuantity(3);
+        payload.getVariants().add(added);
+
+        StatementCounter.reset();
+        productController.update(product.getId(), payload);
+        entityManager.flush();
+        int used = StatementCounter.count();
+
+        // two selects, then one statement each for the update, the delete and the insert
+        assertTrue(used <= 5, "edit used " + used + " statements");
+        List<Long> idsAfter = variantIds(productRepository.findById(product.getId()).orElseThrow());
+        assertEquals(idsBefore.subList(0, VARIANTS - 1), idsAfter.subList(0, VARIANTS - 1));
+    }
+
+    private Product createProductWithVariants() {
+        Category category = new Category();
+        category.setName("Budget test " + System.nanoTime());
+        categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setName("Budget test laptop");
+        product.setPrice(new BigDecimal("20000000"));
+        product.setQuantity(VARIANTS);
+        product.setCategory(category);
+        product.setImages(new ArrayList<>());
+        product.setVariants(new ArrayList<>());
+        for (int i = 0; i < VARIANTS; i++) {
+            ProductVariant variant = new ProductVariant();
+            variant.setColor("Color " + i);
+            variant.setPrice(new BigDecimal("20000000"));
+            variant.setStockQuantity(1);
+            variant.setProduct(product);
+            product.getVariants().add(variant);
+        }
+        productRepository.save(product);
+        entityManager.flush();
+        entityManager.clear();
+        return productRepository.findDetailById(product.getId()).orElseThrow();
+    }
+
+    // What the admin form sends back: same fields, variants with their ids
+    private Product payload(Product product) {
+        Product payload = new Product();
+        payload.setName(product.getName());
+        payload.setPrice(product.getPrice());
+        payload.setQuantity(product.getQuantity());
+        payload.setWattage(product.getWattage());
+        payload.setDescription(product.getDescription());
+        payload.setImageUrl(product.getImageUrl());
+        payload.setSpecifications(product.getSpecifications());
+        payload.setImages(new ArrayList<>());
+        payload.setVariants(new ArrayList<>());
+        for (ProductVariant variant : product.getVariants()) {
+            ProductVariant copy = new ProductVariant();
+            copy.setId(variant.getId());
+            copy.setColor(variant.getColor());
+            copy.setSpecifications(variant.getSpecifications());
+            copy.setPrice(variant.getPrice());
+            copy.setStockQuantity(variant.getStockQuantity());
+            copy.setImageUrl(variant.getImageUrl());
+            payload.getVariants().add(copy);
+        }
+        entityManager.clear();
+        return payload;
+    }
+
+    private static List<Long> variantIds(Product product) {
+        return product.getVariants().stream().map(ProductVariant::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.pcshop.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.pcshop.StatementCounter;
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.ProductSummary;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductImage;
+import org.example.pcshop.entity.ProductVariant;
+import org.example.pcshop.service.ProductCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails when a catalog read path regresses to per-row selects. Each read is
+ * serialized inside the transaction so lazy loads triggered by Jackson count.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.pcshop.StatementCounter")
+@Transactional
+class ProductQueryBudgetTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCatalogService productCatalogService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void listingPageIsOneStatement() throws Exception {
+        StatementCounter.reset();
+        CursorPage<ProductSummary> page = productCatalogService.page(null, null, null, null, 100);
+        objectMapper.writeValueAsString(page);
+
+        assertBudget(1, "listing of " + page.getItems().size() + " products");
+    }
+
+    @Test
+    void productDetailIsBounded() throws Exception {
+        CursorPage<ProductSummary> first = productCatalogService.page(null, null, null, null, 1);
+        if (first.getItems().isEmpty()) {
+            return;
+        }
+        Long id = first.getItems().get(0).getId();
+
+        StatementCounter.reset();
+        Product product = productCatalogService.detail(id).orElseThrow();
+        objectMapper.writeValueAsString(product);
+
+        // product + category + images in one select, variants in a second
+        assertBudget(2, "product detail");
+    }
+
+    @Test
+    void fullCatalogReadJoinsCategory() {
+        StatementCounter.reset();
+        productRepository.findAll().forEach(p -> {
+            if (p.getCategory() != null) {
+                p.getCategory().getName();
+            }
+        });
+
+        assertBudget(1, "findAll() with category names");
+    }
+
+    @Test
+    void listingCostIsFlatAsTheCatalogGrows() {
+        List<Long> ids = seed(300);
+        Specification<Product> seeded = ProductSpecifications.idIn(ids);
+
+        // The last page costs what the first one did: no offset scan, no per-row selects
+        int pages = 0;
+        int seen = 0;
+        String cursor = null;
+        do {
+            StatementCounter.reset();
+            CursorPage<ProductSummary> page = productCatalogService.page(seeded, "price", "desc", cursor, 24);
+            pages++;
+            assertBudget(1, "listing page " + pages);
+            seen += page.getItems().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(ids.size(), seen);
+        assertEquals((ids.size() + 23) / 24, pages);
+
+        // An oversized request is capped rather than returning the whole catalog
+        CursorPage<ProductSummary> capped = productCatalogService.page(seeded, null, null, null, 10_000);
+        assertEquals(ProductCatalogService.MAX_PAGE_SIZE, capped.getItems().size());
+    }
+
+    @Test
+    void listingPayloadIsAFractionOfTheEntities() throws Exception {
+        List<Long> ids = seed(ProductCatalogService.MAX_PAGE_SIZE);
+        CursorPage<ProductSummary> page = productCatalogService.page(ProductSpecifications.idIn(ids), null, null,
+                null, ids.size());
+        int summaryBytes = objectMapper.writeValueAsBytes(page).length;
+        // What the listing endpoints sent before: entities with images, variants and the TEXT columns
+        int entityBytes = objectMapper.writeValueAsBytes(productRepository.findAllById(ids)).length;
+
+        String sizes = ids.size() + " products: " + summaryBytes + " bytes as summaries, " + entityBytes
+                + " as entities";
+        assertTrue(summaryBytes * 5 <= entityBytes, sizes);
+        assertTrue(summaryBytes / ids.size() <= 400, sizes);
+    }
+
+    // Products shaped like the real catalog: long description, specs, a gallery and two variants each
+    private List<Long> seed(int count) {
+        Category category = new Category();
+        category.setName("Budget test " + System.nanoTime());
+        categoryRepository.save(category);
+
+        String description = "Hiệu năng mạnh mẽ cho game và đồ họa. ".repeat(40);
+        String specifications = "CPU: Intel Core i7-13700K\nRAM: 16GB DDR5\nSSD: 1TB NVMe\nVGA: RTX 4070 12GB\nPSU: 750W";
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Budget test PC " + i);
+            product.setPrice(new BigDecimal(20_000_000 + (i % 50) * 100_000));
+            product.setQuantity(5);
+            product.setImageUrl("https://example.com/pc-" + i + ".jpg");
+            product.setDescription(description);
+            product.setSpecifications(specifications);
+            product.setCategory(category);
+            product.setImages(new ArrayList<>());
+            for (int j = 0; j < 3; j++) {
+                ProductImage image = new ProductImage();
+                image.setImageUrl("https://example.com/pc-" + i + "-" + j + ".jpg");
+                image.setProduct(product);
+                product.getImages().add(image);
+            }
+            for (String color : List.of("Black", "White")) {
+                ProductVariant variant = new ProductVariant();
+                variant.setColor(color);
+                variant.setPrice(product.getPrice());
+                variant.setStockQuantity(2);
+                variant.setSpecifications(specifications);
+                variant.setProduct(product);
+                product.getVariants().add(variant);
+            }
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+        entityManager.clear();
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static void assertBudget(int budget, String what) {
+        int used = StatementCounter.count();
+        assertTrue(used <= budget, what + " used " + used + " statements, budget is " + budget);
+    }
+}
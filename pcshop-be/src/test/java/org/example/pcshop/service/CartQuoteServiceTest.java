@@ -0,0 +1,76 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CartQuote;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductVariant;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.ProductVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A product that has variants keeps its stock on them, so a line without a
+ * variant can be neither quoted as orderable nor placed.
+ */
+@SpringBootTest
+class CartQuoteServiceTest {
+
+    @Autowired
+    private CartQuoteService cartQuoteService;
+
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @AfterEach
+    void cleanUp() {
+        if (product != null) {
+            productVariantRepository.deleteAll(productVariantRepository.findByProductId(product.getId()));
+        }
+        fixture.remove(user, product);
+    }
+
+    @Test
+    void plainLineForProductWithVariantsIsRejected() {
+        product = fixture.product("Variant test SKU", "500000", 0);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setProduct(product);
+        variant.setColor("Black");
+        variant.setPrice(new BigDecimal("550000"));
+        variant.setStockQuantity(10);
+        productVariantRepository.save(variant);
+
+        CartQuote quote = cartQuoteService.quote(Map.of(product.getId(), 1), null);
+        assertEquals(CartQuoteService.VARIANT_REQUIRED, quote.getLines().get(0).getProblem());
+        assertFalse(quote.isOrderable());
+
+        user = fixture.customer("variant-test");
+        fixture.signIn(user);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> fixture.place(product, 1));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "select stock_quantity from product_variants where id = ?", Integer.class, variant.getId()));
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.ProductFacets;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FacetAccumulatorTest {
+
+    @Test
+    void countsEveryFacetInOnePass() {
+        FacetAccumulator accumulator = new FacetAccumulator();
+        accumulator.accept(1L, new BigDecimal("4990000"), 65, 3);
+        accumulator.accept(1L, new BigDecimal("5000000"), 125, 0);
+        accumulator.accept(2L, new BigDecimal("49999999"), null, null);
+        accumulator.accept(null, new BigDecimal("50000000"), 35, 10);
+        accumulator.accept(2L, null, null, 1);
+
+        ProductFacets facets = accumulator.result();
+        assertEquals(5, facets.getTotal());
+        assertEquals(2L, facets.getCategories().get(1L));
+        assertEquals(2L, facets.getCategories().get(2L));
+        assertEquals(2, facets.getCategories().size());
+
+        // Edges are inclusive at the bottom: 5,000,000 falls in [5M, 10M)
+        long[] counts = facets.getPriceBuckets().stream().mapToLong(ProductFacets.PriceBucket::getCount).toArray();
+        assertEquals(FacetAccumulator.PRICE_EDGES.length + 1, counts.length);
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[4]);
+        assertEquals(1, counts[5]);
+        assertNull(facets.getPriceBuckets().get(0).getFrom());
+        assertNull(facets.getPriceBuckets().get(5).getTo());
+
+        assertEquals(35, facets.getMinWattage());
+        assertEquals(125, facets.getMaxWattage());
+        assertEquals(3, facets.getInStock());
+        assertEquals(2, facets.getOutOfStock());
+    }
+
+    @Test
+    void emptyResultHasZeroCountsAndNoWattageRange() {
+        ProductFacets facets = new FacetAccumulator().result();
+        assertEquals(0, facets.getTotal());
+        assertNull(facets.getMinWattage());
+        assertEquals(0, facets.getPriceBuckets().stream().mapToLong(ProductFacets.PriceBucket::getCount).sum());
+    }
+}
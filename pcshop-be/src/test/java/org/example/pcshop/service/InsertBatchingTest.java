@@ -0,0 +1,127 @@
+package org.example.pcshop.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.pcshop.StatementCounter;
+import org.example.pcshop.dto.CreateOrderRequest;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.ProductImage;
+import org.example.pcshop.entity.ProductVariant;
+import org.example.pcshop.repository.CategoryRepository;
+import org.example.pcshop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert round trips for the two hot write paths. With IDENTITY ids every row
+ * was its own insert: an order with 10 items took 11, a product with 10
+ * variants and 5 images took 16. Pooled ids let each table go out as one batch.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.pcshop.StatementCounter")
+@Transactional
+class InsertBatchingTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void orderWithTenItemsIsTwoInserts() {
+        Category category = category();
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            items.put(productRepository.save(product(category, "Batch test item " + i)).getId(), 1);
+        }
+        fixture.signIn(fixture.customer("batch-test"));
+        entityManager.flush();
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(items);
+        request.setFullName("Batch Test");
+
+        StatementCounter.reset();
+        orderService.createOrder(request);
+        entityManager.flush();
+        int inserts = StatementCounter.inserts();
+
+        // orders + order_items
+        assertTrue(inserts <= 2, "createOrder used " + inserts + " inserts (11 before pooled ids)");
+        // one select prices all 10 lines (the stock reservation batch goes through JdbcTemplate, not counted here)
+        int statements = StatementCounter.count();
+        assertTrue(statements <= 3, "createOrder used " + statements + " Hibernate statements");
+    }
+
+    @Test
+    void productWithChildrenIsThreeInserts() {
+        Product product = product(category(), "Batch test product");
+        product.setImages(new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            ProductImage image = new ProductImage();
+            image.setImageUrl("https://example.com/" + i + ".jpg");
+            image.setProduct(product);
+            product.getImages().add(image);
+        }
+        for (int i = 0; i < 10; i++) {
+            ProductVariant variant = new ProductVariant();
+            variant.setColor("Color " + i);
+            variant.setPrice(product.getPrice());
+            variant.setStockQuantity(1);
+            variant.setProduct(product);
+            product.getVariants().add(variant);
+        }
+        entityManager.flush();
+
+        // The save ProductController.create ends in, without its index and cache updates: those are singletons
+        // the test's rollback would not undo
+        StatementCounter.reset();
+        productRepository.save(product);
+        entityManager.flush();
+        int inserts = StatementCounter.inserts();
+
+        // products + product_images + product_variants
+        assertTrue(inserts <= 3, "product create used " + inserts + " inserts (16 before pooled ids)");
+    }
+
+    private Category category() {
+        Category category = new Category();
+        category.setName("Batch test " + System.nanoTime());
+        return categoryRepository.save(category);
+    }
+
+    private static Product product(Category category, String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("1000000"));
+        product.setQuantity(10);
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.OrderHistoryEntry;
+import org.example.pcshop.dto.OrderSearchRequest;
+import org.example.pcshop.dto.OrderSummary;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An old finalized order leaves the live tables but is still found by id, in
+ * the owner's history and in the admin search; a recent pending one stays
+ * where it is.
+ */
+@SpringBootTest
+class OrderArchiveServiceTest {
+
+    // Far enough back that no real order is touched by the test's archival run
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderSearchService orderSearchService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @AfterEach
+    void cleanUp() {
+        if (user != null) {
+            jdbcTemplate.update("delete from order_items_archive where order_id in "
+                    + "(select id from orders_archive where user_id = ?)", user.getId());
+            jdbcTemplate.update("delete from orders_archive where user_id = ?", user.getId());
+        }
+        fixture.remove(user, product);
+        if (user != null) {
+            // The backdated order was counted under today's date
+            salesRollupService.rebuild();
+        }
+    }
+
+    @Test
+    void archivedOrdersMoveOutButStayReadable() {
+        product = fixture.product("Archive test SKU", "90000", 100);
+        user = fixture.customer("archive-test");
+        fixture.signIn(user);
+
+        Order old = fixture.place(product, 2);
+        orderService.updateStatus(old.getId(), "CANCELLED");
+        Order pending = fixture.place(product, 1);
+        jdbcTemplate.update("update orders set created_at = ? where id in (?, ?)",
+                Timestamp.valueOf(LONG_AGO), old.getId(), pending.getId());
+
+        assertTrue(orderArchiveService.archiveBefore(LONG_AGO.plusDays(1)) >= 1);
+
+        assertTrue(orderRepository.findById(old.getId()).isEmpty());
+        assertTrue(orderRepository.findById(pending.getId()).isPresent());
+
+        Order archived = orderService.getOrder(old.getId());
+        assertEquals("CANCELLED", archived.getStatus());
+        assertEquals(1, archived.getItems().size());
+        assertEquals(product.getId(), archived.getItems().get(0).getProduct().getId());
+        assertEquals(2, orderService.getMyOrders().size());
+
+        CursorPage<OrderHistoryEntry> page = orderHistoryService.history(user, null, 10);
+        List<Long> ids = page.getItems().stream().map(OrderHistoryEntry::getId).toList();
+        assertEquals(List.of(pending.getId(), old.getId()), ids);
+        assertEquals("Archive test SKU", page.getItems().get(1).getItems().get(0).getName());
+
+        OrderSearchRequest request = new OrderSearchRequest();
+        request.setUserId(user.getId());
+        CursorPage<OrderSummary> first = orderSearchService.search(request, null, 1);
+        CursorPage<OrderSummary> second = orderSearchService.search(request, first.getNextCursor(), 1);
+        assertEquals(pending.getId(), first.getItems().get(0).getId());
+        assertFalse(first.getItems().get(0).isArchived());
+        assertEquals(old.getId(), second.getItems().get(0).getId());
+        assertTrue(second.getItems().get(0).isArchived());
+        assertEquals(1L, second.getItems().get(0).getItemCount());
+
+        request.setStatus("PENDING");
+        assertEquals(List.of(pending.getId()), orderSearchService.search(request, null, 10).getItems().stream()
+                .map(OrderSummary::getId).toList());
+    }
+}
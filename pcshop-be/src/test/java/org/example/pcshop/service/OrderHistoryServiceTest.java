@@ -0,0 +1,76 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CursorPage;
+import org.example.pcshop.dto.OrderHistoryEntry;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Paging through the history must visit every order once, newest first, with
+ * the product name and image on each line.
+ */
+@SpringBootTest
+class OrderHistoryServiceTest {
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    private User user;
+    private Product product;
+
+    @AfterEach
+    void cleanUp() {
+        fixture.remove(user, product);
+    }
+
+    @Test
+    void pagesThroughOrdersNewestFirst() {
+        product = fixture.product("History test SKU", "120000", 100);
+        product.setImageUrl("https://example.com/history.png");
+        productRepository.save(product);
+        user = fixture.customer("history-test");
+        fixture.signIn(user);
+
+        List<Long> placed = new ArrayList<>();
+        for (int quantity = 1; quantity <= 5; quantity++) {
+            placed.add(0, fixture.place(product, quantity).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderHistoryEntry> page = orderHistoryService.history(user, cursor, 2);
+            for (OrderHistoryEntry entry : page.getItems()) {
+                seen.add(entry.getId());
+                assertEquals(1, entry.getItems().size());
+                OrderHistoryEntry.Line line = entry.getItems().get(0);
+                assertEquals("History test SKU", line.getName());
+                assertEquals("https://example.com/history.png", line.getImageUrl());
+                assertNull(line.getVariantId());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(placed, seen);
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.BulkStatusResult;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several admins act on the same orders at once. Every status change must be
+ * a legal transition from the state it actually replaced, and none may be lost
+ * or applied twice.
+ */
+@SpringBootTest
+class OrderStatusConcurrencyTest {
+
+    private static final int ADMINS = 16;
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = fixture.product("Status test SKU", "100000", STOCK);
+        user = fixture.customer("status-test");
+        fixture.signIn(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixture.remove(user, product);
+    }
+
+    @Test
+    void racingAdminsMoveAnOrderExactlyOnce() throws Exception {
+        Order order = place(1);
+
+        AtomicInteger won = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        race(i -> () -> {
+            try {
+                orderService.updateStatus(order.getId(), "CONFIRMED");
+                won.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                refused.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(1, won.get());
+        assertEquals(ADMINS - 1, refused.get());
+        assertEquals(1L, version(order.getId()));
+    }
+
+    @Test
+    void staleScreensCannotOverwrite() throws Exception {
+        Order order = place(2);
+        long seen = version(order.getId());
+
+        AtomicInteger won = new AtomicInteger();
+        race(i -> () -> {
+            try {
+                // Half the admins confirm, half cancel, all from the same stale screen
+                orderService.updateStatus(order.getId(), i % 2 == 0 ? "CONFIRMED" : "CANCELLED", seen);
+                won.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+            }
+            return null;
+        });
+
+        assertEquals(1, won.get());
+        assertEquals(seen + 1, version(order.getId()));
+        String status = jdbcTemplate.queryForObject("select status from orders where id = ?", String.class,
+                order.getId());
+        int expectedStock = "CANCELLED".equals(status) ? STOCK : STOCK - 2;
+        assertEquals(expectedStock, stock());
+    }
+
+    @Test
+    void bulkTransitionMovesEligibleOrdersOnce() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(place(1).getId());
+        }
+
+        BulkStatusResult confirmed = orderStatusService.bulkTransition(ids, "CONFIRMED");
+        assertEquals(ids, confirmed.getUpdated());
+        assertTrue(confirmed.getSkipped().isEmpty());
+
+        BulkStatusResult again = orderStatusService.bulkTransition(ids, "CONFIRMED");
+        assertTrue(again.getUpdated().isEmpty());
+        assertEquals(20, again.getSkipped().size());
+        assertTrue(again.getSkipped().values().stream().allMatch(OrderStatusService.INVALID_TRANSITION::equals));
+
+        assertEquals(STOCK - 20, stock());
+        BulkStatusResult cancelled = orderStatusService.bulkTransition(ids, "CANCELLED");
+        assertEquals(20, cancelled.getUpdated().size());
+        assertEquals(STOCK, stock());
+    }
+
+    @Test
+    void bulkTransitionWithOnlyNullIdsIsABadRequest() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(null);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> orderStatusService.bulkTransition(ids, "CONFIRMED"));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void cancellingAnOrderThatNeverReservedLeavesStockAlone() {
+        Order order = place(3);
+        // As if placed before checkout reserved stock: give the units back by hand and clear the flag
+        jdbcTemplate.update("update orders set stock_reserved = 0 where id = ?", order.getId());
+        jdbcTemplate.update("update products set total_stock = total_stock + 3, quantity = quantity + 3 where id = ?",
+                product.getId());
+
+        orderService.updateStatus(order.getId(), "CANCELLED");
+        assertEquals(STOCK, stock());
+    }
+
+    private Order place(int quantity) {
+        return fixture.place(product, quantity);
+    }
+
+    private long version(Long orderId) {
+        return jdbcTemplate.queryForObject("select version from orders where id = ?", Long.class, orderId);
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("select total_stock from products where id = ?", Integer.class,
+                product.getId());
+    }
+
+    private void race(IntFunction<Callable<Void>> admin) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(ADMINS);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < ADMINS; i++) {
+            Callable<Void> task = admin.apply(i);
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+    }
+}
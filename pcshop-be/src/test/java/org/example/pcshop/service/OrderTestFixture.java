@@ -0,0 +1,91 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.CreateOrderRequest;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.Role;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.OrderRepository;
+import org.example.pcshop.repository.ProductRepository;
+import org.example.pcshop.repository.UserRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * The customer, product and signed-in session the order tests share. Rows are
+ * committed unless the test itself is transactional, so non-transactional
+ * tests hand what they created to {@link #remove} in their {@code @AfterEach}.
+ */
+@Component
+class OrderTestFixture {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    OrderTestFixture(OrderService orderService, OrderRepository orderRepository,
+            ProductRepository productRepository, UserRepository userRepository) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+    }
+
+    Product product(String name, String price, int stock) {
+        return product(name, price, stock, null);
+    }
+
+    Product product(String name, String price, int stock, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setQuantity(stock);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    // A LOCAL user with a unique username
+    User customer(String usernamePrefix) {
+        User user = new User();
+        user.setUsername(usernamePrefix + "-" + System.nanoTime());
+        user.setProvider("LOCAL");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    // Places an order as whoever is signed in
+    Order place(Product product, int quantity) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(Map.of(product.getId(), quantity));
+        request.setFullName("Test Customer");
+        return orderService.createOrder(request);
+    }
+
+    // Through the service, so reserved stock and the sales rollups are taken back out as well
+    void deleteOrders(User user) {
+        orderRepository.findByUserOrderByCreatedAtDesc(user).forEach(o -> orderService.deleteOrder(o.getId()));
+    }
+
+    // Signs out and deletes the user's orders, the user and the product; either may be null
+    void remove(User user, Product product) {
+        SecurityContextHolder.clearContext();
+        if (user != null) {
+            deleteOrders(user);
+            userRepository.delete(user);
+        }
+        if (product != null) {
+            productRepository.deleteById(product.getId());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Placing an order queues its confirmation email in the outbox; the worker
+ * sends it through the (stubbed) EmailSender shortly after commit and removes
+ * the row.
+ */
+@SpringBootTest
+@Slf4j
+class OutboxWorkerTest {
+
+    static final List<String> SENT = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StubMail {
+        @Bean
+        @Primary
+        EmailSender recordingEmailSender() {
+            return (to, subject, body) -> SENT.add(to + "|" + subject);
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @AfterEach
+    void cleanUp() {
+        fixture.remove(user, product);
+    }
+
+    @Test
+    void confirmationEmailIsSentAfterCommit() throws Exception {
+        product = fixture.product("Outbox test SKU", "500000", 10);
+        user = fixture.customer("outbox-test");
+        user.setEmail(user.getUsername() + "@example.com");
+        userRepository.save(user);
+        fixture.signIn(user);
+
+        long began = System.nanoTime();
+        Order order = fixture.place(product, 1);
+        double placedMs = (System.nanoTime() - began) / 1e6;
+
+        String expected = user.getEmail() + "|PCSHOP order #" + order.getId() + " received";
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!SENT.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        log.info("Order placed in {} ms; confirmation sent {} ms after the call started",
+                String.format("%.1f", placedMs), String.format("%.1f", (System.nanoTime() - began) / 1e6));
+
+        assertTrue(SENT.contains(expected));
+        // The row is deleted right after the send returns
+        Thread.sleep(200);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from outbox_events where aggregate_id = ? and event_type = ?", Integer.class,
+                order.getId(), OutboxService.ORDER_PLACED));
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductTextIndexTest {
+
+    private ProductTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductTextIndex(null);
+        index.index(product(1L, "Màn hình Dell 24 inch", "Màn hình đẹp, viền mỏng", null));
+        index.index(product(2L, "Laptop Asus TUF", "Có màn hình 15.6 inch", "RAM: 16GB, SSD: 512GB"));
+        index.index(product(3L, "Chuột Logitech G102", null, null));
+    }
+
+    @Test
+    void foldsVietnameseDiacritics() {
+        assertEquals(List.of(1L, 2L), index.search("man hinh", 10));
+        assertEquals(List.of(1L), index.search("ĐẸP", 10));
+    }
+
+    @Test
+    void requiresEveryTokenAndMatchesLastTokenAsPrefix() {
+        assertEquals(List.of(2L), index.search("asus lap", 10));
+        assertEquals(List.of(2L), index.search("16gb", 10));
+        assertTrue(index.search("asus chuot", 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceOldPostings() {
+        index.index(product(2L, "Laptop Acer Nitro", null, null));
+        assertTrue(index.search("asus", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("nitro", 10));
+
+        index.remove(1L);
+        assertEquals(List.of(2L), index.search("laptop", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rebuildKeepsWritesMadeWhileItReadsTheTable() {
+        ProductRepository repository = mock(ProductRepository.class);
+        ProductTextIndex rebuilt = new ProductTextIndex(repository);
+        when(repository.findAllSearchText()).thenAnswer(invocation -> {
+            // Admin edits land while the scan runs; the rows below were read before them
+            rebuilt.index(product(2L, "Laptop Acer Nitro", null, null));
+            rebuilt.index(product(4L, "Bàn phím cơ Akko", null, null));
+            rebuilt.remove(3L);
+            return List.<Object[]>of(
+                    new Object[] { 1L, "Màn hình Dell 24 inch", null, null },
+                    new Object[] { 2L, "Laptop Asus TUF", null, null },
+                    new Object[] { 3L, "Chuột Logitech G102", null, null });
+        });
+
+        rebuilt.rebuild();
+
+        assertTrue(rebuilt.search("asus", 10).isEmpty());
+        assertEquals(List.of(2L), rebuilt.search("nitro", 10));
+        assertEquals(List.of(4L), rebuilt.search("ban phim", 10));
+        assertTrue(rebuilt.search("chuot", 10).isEmpty());
+        assertEquals(3, rebuilt.size());
+
+        // Once the rebuild is done, writes are no longer recorded for replay
+        rebuilt.index(product(5L, "Tai nghe HyperX", null, null));
+        assertEquals(List.of(5L), rebuilt.search("hyperx", 10));
+    }
+
+    private static Product product(Long id, String name, String description, String specifications) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setSpecifications(specifications);
+        return product;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.pcshop.service;
+
+import org.example.pcshop.dto.SalesDashboard;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Order;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Orders placed, moved between statuses and deleted through OrderService must
+ * leave the rollups exactly where a full rebuild would put them.
+ */
+@SpringBootTest
+class SalesRollupServiceTest {
+
+    private static final String STATUS_ROWS = "select day, status, sum(orders), sum(revenue) from sales_daily_status "
+            + "group by day, status having sum(orders) <> 0 order by day, status";
+    private static final String PRODUCT_ROWS = "select day, product_id, units, revenue from sales_daily_product "
+            + "where units <> 0 order by day, product_id";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+    private Category category;
+
+    @AfterEach
+    void cleanUp() {
+        if (user != null) {
+            fixture.deleteOrders(user);
+        }
+        if (product != null) {
+            jdbcTemplate.update("delete from sales_daily_product where product_id = ?", product.getId());
+        }
+        fixture.remove(user, product);
+        if (category != null) {
+            categoryRepository.delete(category);
+        }
+    }
+
+    @Test
+    void incrementalRollupsMatchRebuild() {
+        salesRollupService.rebuild();
+
+        category = new Category();
+        category.setName("Rollup test " + System.nanoTime());
+        categoryRepository.save(category);
+
+        product = fixture.product("Rollup test SKU", "250000", 100, category);
+        user = fixture.customer("rollup-test");
+        fixture.signIn(user);
+
+        Order kept = fixture.place(product, 3);
+        Order cancelled = fixture.place(product, 2);
+        Order deleted = fixture.place(product, 4);
+        orderService.updateStatus(kept.getId(), "CONFIRMED");
+        orderService.updateStatus(kept.getId(), "SHIPPING");
+        orderService.updateStatus(kept.getId(), "COMPLETED");
+        orderService.updateStatus(cancelled.getId(), "CANCELLED");
+        orderService.deleteOrder(deleted.getId());
+
+        SalesDashboard dashboard = salesRollupService.dashboard(LocalDate.now(), LocalDate.now(), 5);
+        SalesDashboard.CategorySales sales = dashboard.getTopProducts().stream()
+                .filter(c -> category.getId().equals(c.getCategoryId()))
+                .findFirst().orElseThrow();
+        assertEquals(3, sales.getProducts().get(0).getUnits());
+        assertEquals(0, new BigDecimal("750000").compareTo(sales.getProducts().get(0).getRevenue()));
+
+        List<Map<String, Object>> statusRows = jdbcTemplate.queryForList(STATUS_ROWS);
+        List<Map<String, Object>> productRows = jdbcTemplate.queryForList(PRODUCT_ROWS);
+        salesRollupService.rebuild();
+        assertEquals(statusRows, jdbcTemplate.queryForList(STATUS_ROWS));
+        assertEquals(productRows, jdbcTemplate.queryForList(PRODUCT_ROWS));
+    }
+}
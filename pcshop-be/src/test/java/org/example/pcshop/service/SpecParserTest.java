@@ -0,0 +1,72 @@
+package org.example.pcshop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SpecParserTest {
+
+    @Test
+    void parsesPlainTextPairs() {
+        List<SpecParser.Attribute> attributes = SpecParser.parse("RAM: 16GB, SSD: 1TB\nCPU Socket: LGA1700");
+
+        assertEquals(3, attributes.size());
+        assertEquals(new SpecParser.Attribute("ram", "16gb", new BigDecimal("16"), "gb"), attributes.get(0));
+        assertEquals(0, new BigDecimal("1024").compareTo(attributes.get(1).number()));
+        assertEquals("socket", attributes.get(2).name());
+        assertEquals("lga1700", attributes.get(2).text());
+    }
+
+    @Test
+    void parsesAdminFormJsonAndVietnameseKeys() {
+        List<SpecParser.Attribute> attributes = SpecParser.parse(
+                "[{\"key\":\"Bộ nhớ\",\"value\":\"32GB (2x16GB) DDR5\"},{\"key\":\"Công suất\",\"value\":\"750 W\"}]");
+
+        assertEquals("ram", attributes.get(0).name());
+        assertEquals(0, new BigDecimal("32").compareTo(attributes.get(0).number()));
+        assertEquals("wattage", attributes.get(1).name());
+        assertEquals("w", attributes.get(1).unit());
+    }
+
+    @Test
+    void keepsCommasInsideValues() {
+        List<SpecParser.Attribute> attributes = SpecParser.parse("RAM: 2x16GB, DDR5, GPU: RTX 4060");
+
+        assertEquals(2, attributes.size());
+        assertEquals("2x16gb, ddr5", attributes.get(0).text());
+        assertEquals(0, new BigDecimal("32").compareTo(attributes.get(0).number()));
+    }
+
+    @Test
+    void normalizesUnitsForComparison() {
+        assertEquals(0, new BigDecimal("3200").compareTo(SpecParser.measure("3.2 GHz").number()));
+        assertEquals("mhz", SpecParser.measure("3,2GHz").unit());
+        assertNull(SpecParser.measure("Black"));
+    }
+
+    @Test
+    void ignoresDigitsGluedToWords() {
+        SpecParser.Measure ram = SpecParser.measure("DDR5 16GB");
+        assertEquals(0, new BigDecimal("16").compareTo(ram.number()));
+        assertEquals("gb", ram.unit());
+
+        List<SpecParser.Attribute> attributes = SpecParser.parse("VRAM: GDDR6 8GB");
+        assertEquals(0, new BigDecimal("8").compareTo(attributes.get(0).number()));
+        assertEquals("gb", attributes.get(0).unit());
+
+        assertNull(SpecParser.measure("Intel Core i7-13700K"));
+        assertNull(SpecParser.measure("LGA1700"));
+    }
+
+    @Test
+    void prefersANumberWithAUnit() {
+        SpecParser.Measure display = SpecParser.measure("IPS 165 panel, 27 inch");
+        assertEquals(0, new BigDecimal("27").compareTo(display.number()));
+        assertEquals("inch", display.unit());
+        assertNull(SpecParser.measure("RTX 4060").unit());
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.pcshop.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.pcshop.entity.Category;
+import org.example.pcshop.entity.Product;
+import org.example.pcshop.entity.User;
+import org.example.pcshop.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 200 buyers race for one SKU with 50 units. Exactly 50 orders may succeed and
+ * stock must end at zero, never below. Not transactional: every order commits
+ * on its own, as it would in production, and the fixture is removed afterwards.
+ */
+@SpringBootTest
+@Slf4j
+class StockReservationStressTest {
+
+    private static final int THREADS = 200;
+    private static final int STOCK = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderTestFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+    private Category category;
+
+    @AfterEach
+    void cleanUp() {
+        fixture.remove(user, product);
+        if (category != null) {
+            categoryRepository.delete(category);
+        }
+    }
+
+    @Test
+    void concurrentBuyersNeverOversell() throws Exception {
+        createFixture();
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(pool.submit(() -> {
+                fixture.signIn(user);
+                start.await();
+                try {
+                    fixture.place(product, 1);
+                    placed.incrementAndGet();
+                } catch (ResponseStatusException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                    rejected.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        pool.shutdown();
+
+        log.info("{} threads on one SKU: {} placed, {} rejected in {} s ({} orders/s)", THREADS, placed.get(),
+                rejected.get(), String.format("%.2f", seconds), String.format("%.0f", THREADS / seconds));
+
+        assertEquals(STOCK, placed.get());
+        assertEquals(THREADS - STOCK, rejected.get());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select total_stock from products where id = ?", Integer.class, product.getId()));
+        assertEquals(STOCK, jdbcTemplate.queryForObject(
+                "select coalesce(sum(quantity), 0) from order_items where product_id = ?", Integer.class,
+                product.getId()));
+    }
+
+    @Test
+    void deletingAnOpenOrderReturnsItsStock() {
+        createFixture();
+        fixture.signIn(user);
+        Long orderId = fixture.place(product, 5).getId();
+        SecurityContextHolder.clearContext();
+
+        orderService.deleteOrder(orderId);
+        assertEquals(STOCK, jdbcTemplate.queryForObject(
+                "select total_stock from products where id = ?", Integer.class, product.getId()));
+    }
+
+    private void createFixture() {
+        category = new Category();
+        category.setName("Stress test " + System.nanoTime());
+        categoryRepository.save(category);
+
+        product = fixture.product("Stress test SKU", "1000000", STOCK, category);
+        user = fixture.customer("stress-test");
+    }
+}
@@ -28,7 +28,21 @@ function FlyoutMenu({ children, anchorRef, visible }) {
     );
 }
 
-function CategoryItem({ parent }) {
+// Facet counts are keyed by each product's own category, but a category link
+// filters its whole subtree, so every node shows its total including descendants
+function subtreeCounts(roots, counts) {
+    const totals = {};
+    const visit = (node) => {
+        let total = counts[node.id] || 0;
+        (node.children || []).forEach(child => { total += visit(child); });
+        totals[node.id] = total;
+        return total;
+    };
+    roots.forEach(visit);
+    return totals;
+}
+
+function CategoryItem({ parent, counts }) {
     const [hovered, setHovered] = useState(false);
     const rowRef = useRef(null);
 
@@ -43,7 +57,12 @@ function CategoryItem({ parent }) {
                 to={`/products?category=${parent.id}`}
                 className="flex items-center justify-between px-4 py-3 hover:bg-gray-100 hover:text-red-600 transition-colors text-sm font-medium border-b border-gray-50 last:border-0"
             >
-                <span>{parent.name}</span>
+                <span>
+                    {parent.name}
+                    {counts && counts[parent.id] > 0 && (
+                        <span className="ml-1 text-gray-400 text-xs">({counts[parent.id]})</span>
+                    )}
+                </span>
                 {parent.children && parent.children.length > 0 && (
                     <span className="text-gray-400 text-xs">›</span>
                 )}
@@ -62,6 +81,9 @@ function CategoryItem({ parent }) {
                                 className="block px-4 py-2 text-sm text-gray-600 hover:text-red-600 hover:bg-gray-50 rounded transition-colors"
                             >
                                 {child.name}
+                                {counts && counts[child.id] > 0 && (
+                                    <span className="ml-1 text-gray-400 text-xs">({counts[child.id]})</span>
+                                )}
                             </Link>
                         ))}
                     </div>
@@ -71,8 +93,9 @@ function CategoryItem({ parent }) {
     );
 }
 
-export default function CategorySidebar({ categories }) {
+export default function CategorySidebar({ categories, counts }) {
     const rootCategories = categories.filter(c => !c.parent);
+    const totals = counts ? subtreeCounts(rootCategories, counts) : null;
 
     return (
         <div className="bg-white border border-gray-200 rounded-lg shadow-sm h-full flex flex-col">
@@ -85,7 +108,7 @@ export default function CategorySidebar({ categories }) {
 
             <div className="flex flex-col py-2">
                 {rootCategories.map((parent) => (
-                    <CategoryItem key={parent.id} parent={parent} />
+                    <CategoryItem key={parent.id} parent={parent} counts={totals} />
                 ))}
                 {rootCategories.length === 0 && (
                     <div className="p-4 text-center text-gray-400 text-sm">Loading...</div>
@@ -2,7 +2,7 @@ import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
 import { useCart } from '../context/CartContext';
 import { useState, useEffect } from 'react';
-import { getCategories, searchProducts } from '../services/productService';
+import { getCategories, searchProducts, suggestProducts } from '../services/productService';
 
 export default function Navbar() {
     const { user, logout } = useAuth();
@@ -23,8 +23,14 @@ export default function Navbar() {
         const delayDebounceFn = setTimeout(async () => {
             if (searchQuery.trim()) {
                 try {
-                    // Try 'keyword' first as it's common, or fallback to 'name' if backend requires
-                    const data = await searchProducts({ name: searchQuery, categoryId: selectedCategory });
+                    let data;
+                    if (selectedCategory) {
+                        data = await searchProducts({ name: searchQuery, categoryId: selectedCategory, size: 5 });
+                    } else {
+                        // Prefix index: cheap enough to run on every keystroke
+                        const suggestions = await suggestProducts(searchQuery, 5);
+                        data = suggestions.products.map(({ id, text, imageUrl, price }) => ({ id, name: text, imageUrl, price }));
+                    }
                     setSearchResults(Array.isArray(data) ? data : []);
                     setShowDropdown(true);
                 } catch (error) {
@@ -155,7 +161,7 @@ export default function Navbar() {
                                                 onClick={handleSearch}
                                                 className="w-full py-2 text-center text-xs font-bold text-blue-600 hover:bg-blue-50 transition-colors uppercase tracking-wide"
                                             >
-                                                View all {searchResults.length} results
+                                                View all results
                                             </button>
                                         </li>
                                     </ul>
@@ -1,4 +1,5 @@
-import { createContext, useState, useContext, useEffect } from 'react';
+import { createContext, useState, useContext, useEffect, useCallback } from 'react';
+import { quoteCart, lineKey } from '../services/cartService';
 
 const CartContext = createContext();
 
@@ -10,10 +11,39 @@ export const CartProvider = ({ children }) => {
         return localData ? JSON.parse(localData) : [];
     });
 
+    // Server prices for the current cart; the prices stored with each item are only a hint from when it was added
+    const [quote, setQuote] = useState(null);
+    const [quoteError, setQuoteError] = useState(null);
+
     useEffect(() => {
         localStorage.setItem('cart', JSON.stringify(cartItems));
     }, [cartItems]);
 
+    const refreshQuote = useCallback(async () => {
+        if (cartItems.length === 0) {
+            setQuote(null);
+            return null;
+        }
+        try {
+            const fresh = await quoteCart(cartItems);
+            setQuote(fresh);
+            setQuoteError(null);
+            return fresh;
+        } catch (err) {
+            setQuoteError(err.message);
+            return null;
+        }
+    }, [cartItems]);
+
+    // One quote per burst of cart edits
+    useEffect(() => {
+        const timer = setTimeout(refreshQuote, 250);
+        return () => clearTimeout(timer);
+    }, [refreshQuote]);
+
+    // Quote line for a cart item, or undefined until the quote arrives
+    const quoteLine = (item) => quote?.lines.find(line => lineKey(line) === lineKey(item));
+
     const addToCart = (product, quantity = 1, variant = null) => {
         setCartItems((prevItems) => {
             const cartItemId = variant ? `${product.id}-${variant.id}` : product.id;
@@ -61,7 +91,7 @@ export const CartProvider = ({ children }) => {
     const totalItems = cartItems.reduce((acc, item) => acc + item.qty, 0);
 
     return (
-        <CartContext.Provider value={{ cartItems, addToCart, removeFromCart, updateQuantity, clearCart, totalItems }}>
+        <CartContext.Provider value={{ cartItems, addToCart, removeFromCart, updateQuantity, clearCart, totalItems, quote, quoteError, quoteLine, refreshQuote }}>
             {children}
         </CartContext.Provider>
     );
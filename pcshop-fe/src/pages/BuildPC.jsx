@@ -2,6 +2,7 @@ import { useState, useEffect, useRef } from 'react';
 import Navbar from '../components/Navbar';
 import Footer from '../components/Footer';
 import { useCart } from '../context/CartContext';
+import { getEveryProduct } from '../services/productService';
 
 export default function BuildPC() {
     const { addToCart } = useCart();
@@ -61,8 +62,7 @@ export default function BuildPC() {
         setShowModal(categoryId);
         try {
             // Fetch products from backend or use mocks if backend is empty
-            const res = await fetch('http://localhost:8080/api/products');
-            const allProducts = await res.json();
+            const allProducts = await getEveryProduct();
 
             // Filter roughly by name/category
             // In a real app, use the category ID. Here we map string category names.
@@ -4,9 +4,17 @@ import { useCart } from '../context/CartContext';
 import { Link } from 'react-router-dom';
 
 export default function Cart() {
-    const { cartItems, updateQuantity, removeFromCart } = useCart();
-    // Calculate total safely
-    const total = cartItems.reduce((sum, item) => sum + (item.price || 0) * (item.qty || 1), 0);
+    const { cartItems, updateQuantity, removeFromCart, quote, quoteLine } = useCart();
+    // Server total once the quote is in; the stored prices until then
+    const total = quote ? quote.total : cartItems.reduce((sum, item) => sum + (item.price || 0) * (item.qty || 1), 0);
+
+    const stockLabel = (line) => {
+        if (!line) return <p className="text-sm text-gray-400 font-medium">Checking stock...</p>;
+        if (line.problem === 'NOT_FOUND') return <p className="text-sm text-red-600 font-medium">No longer available</p>;
+        if (line.problem === 'VARIANT_REQUIRED') return <p className="text-sm text-red-600 font-medium">Choose an option for this product</p>;
+        if (line.problem === 'OUT_OF_STOCK') return <p className="text-sm text-red-600 font-medium">Only {line.available} left</p>;
+        return <p className="text-sm text-green-600 font-medium">In Stock</p>;
+    };
 
     return (
         <div className="bg-background min-h-screen font-sans">
@@ -21,7 +29,10 @@ export default function Cart() {
                 <div className="grid lg:grid-cols-12 gap-8">
                     {/* Cart Items List */}
                     <div className="lg:col-span-8 space-y-4">
-                        {cartItems.map((item) => (
+                        {cartItems.map((item) => {
+                            const line = quoteLine(item);
+                            const lineTotal = line ? line.lineTotal : item.price * item.qty;
+                            return (
                             <div key={item.id} className="bg-white p-4 rounded-xl border border-gray-200 flex flex-col sm:flex-row items-center gap-4 shadow-sm hover:shadow-md transition-shadow">
                                 <div className="w-24 h-24 flex-shrink-0 bg-gray-50 rounded-lg p-2">
                                     <img src={item.imageUrl || item.image} alt={item.name} className="w-full h-full object-contain mix-blend-multiply" />
@@ -29,7 +40,7 @@ export default function Cart() {
 
                                 <div className="flex-1 text-center sm:text-left">
                                     <h3 className="font-bold text-lg text-primary mb-1">{item.name}</h3>
-                                    <p className="text-sm text-green-600 font-medium">In Stock</p>
+                                    {stockLabel(line)}
                                 </div>
 
                                 <div className="flex items-center gap-3 bg-gray-50 rounded-lg px-3 py-1 border border-gray-200">
@@ -45,14 +56,15 @@ export default function Cart() {
                                 </div>
 
                                 <div className="text-right min-w-[120px]">
-                                    <div className="font-bold text-red-600 text-lg">{(item.price * item.qty).toLocaleString()} ₫</div>
+                                    <div className="font-bold text-red-600 text-lg">{lineTotal?.toLocaleString()} ₫</div>
                                     <button
                                         onClick={() => removeFromCart(item.id)}
                                         className="text-xs text-gray-400 hover:text-red-500 underline mt-1"
                                     >Remove</button>
                                 </div>
                             </div>
-                        ))}
+                            );
+                        })}
 
                         {cartItems.length === 0 && (
                             <div className="text-center py-20 bg-gray-50 rounded-xl border border-dashed border-gray-300">
@@ -87,6 +99,9 @@ export default function Cart() {
                                 <span className="text-red-600">{total.toLocaleString()} ₫</span>
                             </div>
 
+                            {quote && !quote.orderable && (
+                                <p className="text-sm text-red-600 mb-3">Some items are unavailable in the requested quantity.</p>
+                            )}
                             <Link to="/checkout" className="block w-full bg-red-600 hover:bg-red-700 text-white font-bold py-4 rounded-xl shadow-lg hover:shadow-red-500/30 transition-all uppercase tracking-wider mb-3 text-center">
                                 Checkout Now
                             </Link>
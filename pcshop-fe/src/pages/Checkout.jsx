@@ -3,9 +3,10 @@ import Navbar from '../components/Navbar';
 import Footer from '../components/Footer';
 import { useCart } from '../context/CartContext';
 import { useNavigate } from 'react-router-dom';
+import { toOrderItems } from '../services/cartService';
 
 export default function Checkout() {
-    const { cartItems, clearCart } = useCart();
+    const { cartItems, clearCart, quote, quoteLine, refreshQuote } = useCart();
     const navigate = useNavigate();
 
     const [formData, setFormData] = useState({
@@ -20,7 +21,8 @@ export default function Checkout() {
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState('');
 
-    const subtotal = cartItems.reduce((sum, item) => sum + (item.price || 0) * (item.qty || 1), 0);
+    // Prices come from the server quote; the order is placed against exactly this total
+    const subtotal = quote ? quote.total : 0;
     const total = subtotal; // Add shipping logic if needed
 
     const handleInputChange = (e) => {
@@ -50,14 +52,14 @@ export default function Checkout() {
                 return;
             }
 
-            // Prepare items map
-            const itemsMap = {};
-            cartItems.forEach(item => {
-                itemsMap[item.id] = item.qty;
-            });
+            if (!quote || !quote.orderable) {
+                setError("Some items in your cart are unavailable in the requested quantity. Please review your cart.");
+                return;
+            }
 
             const payload = {
-                items: itemsMap,
+                ...toOrderItems(cartItems),
+                expectedTotal: quote.total,
                 fullName: formData.fullName,
                 phoneNumber: formData.phoneNumber,
                 shippingAddress: `${formData.address}, ${formData.city}`,
@@ -74,6 +76,13 @@ export default function Checkout() {
                 body: JSON.stringify(payload)
             });
 
+            if (response.status === 409) {
+                // Stock ran out or a price changed since the quote; show the current figures
+                await refreshQuote();
+                setError("Prices or stock changed while you were checking out. Please review the updated order and try again.");
+                window.scrollTo(0, 0);
+                return;
+            }
             if (!response.ok) {
                 throw new Error("Failed to place order.");
             }
@@ -226,7 +235,9 @@ export default function Checkout() {
 
                             {/* Item List */}
                             <div className="space-y-4 mb-6 max-h-[300px] overflow-y-auto custom-scrollbar">
-                                {cartItems.map(item => (
+                                {cartItems.map(item => {
+                                    const line = quoteLine(item);
+                                    return (
                                     <div key={item.id} className="flex gap-3">
                                         <div className="w-12 h-12 bg-gray-100 rounded flex-shrink-0">
                                             <img src={item.imageUrl || item.image} className="w-full h-full object-contain mix-blend-multiply" alt={item.name} />
@@ -234,10 +245,17 @@ export default function Checkout() {
                                         <div className="flex-1">
                                             <div className="text-sm font-bold line-clamp-1">{item.name}</div>
                                             <div className="text-xs text-gray-500">Qty: {item.qty}</div>
+                                            {line?.problem && (
+                                                <div className="text-xs text-red-600">
+                                                    {line.problem === 'OUT_OF_STOCK' ? `Only ${line.available} left`
+                                                        : line.problem === 'VARIANT_REQUIRED' ? 'Choose an option' : 'Unavailable'}
+                                                </div>
+                                            )}
                                         </div>
-                                        <div className="text-sm font-bold">{(item.price * item.qty).toLocaleString()}₫</div>
+                                        <div className="text-sm font-bold">{line ? `${line.lineTotal.toLocaleString()}₫` : '...'}</div>
                                     </div>
-                                ))}
+                                    );
+                                })}
                             </div>
 
                             <div className="space-y-2 mb-6 pt-4 border-t border-gray-100">
@@ -258,8 +276,8 @@ export default function Checkout() {
 
                             <button
                                 onClick={handlePlaceOrder}
-                                disabled={loading}
-                                className={`w-full text-white font-bold py-4 rounded-xl shadow-lg transition-all uppercase tracking-wider ${loading ? 'bg-gray-400 cursor-not-allowed' : 'bg-primary hover:shadow-xl'}`}
+                                disabled={loading || !quote}
+                                className={`w-full text-white font-bold py-4 rounded-xl shadow-lg transition-all uppercase tracking-wider ${loading || !quote ? 'bg-gray-400 cursor-not-allowed' : 'bg-primary hover:shadow-xl'}`}
                             >
                                 {loading ? 'Processing...' : 'Place Order'}
                             </button>
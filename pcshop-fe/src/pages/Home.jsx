@@ -4,13 +4,29 @@ import Navbar from '../components/Navbar';
 import Footer from '../components/Footer';
 import ProductCard from '../components/ProductCard';
 import CategorySidebar from '../components/CategorySidebar';
-import { getCategories, getAllProducts } from "../services/productService";
+import { getCategories, getAllProducts, getCategoryProductPage } from "../services/productService";
 import { getActiveBanners } from "../services/bannerService";
 import HomeBanner from '../components/HomeBanner';
 import ProductCarousel from '../components/ProductCarousel';
 
+// Home page carousels: each shows the first page of the category whose name matches one of its terms
+const SECTIONS = [
+  { key: 'laptop', terms: ['laptop'], title: 'Laptop & Macbook', icon: '💻' },
+  { key: 'pc', terms: ['pc'], title: 'PC Gaming & Workstation', icon: '🖥️' },
+  { key: 'component', terms: ['linh kiện', 'component'], title: 'Linh Kiện PC (Components)', icon: '⚙️' },
+  { key: 'gear', terms: ['gear'], title: 'Gaming Gear', icon: '🎧' },
+];
+const SECTION_SIZE = 12;
+
+// Prefer a top-level match, so the section covers the whole subtree
+const findSectionCategory = (categories, terms) => {
+  const matches = categories.filter(c => terms.some(t => c.name.toLowerCase().includes(t)));
+  return matches.find(c => !c.parent) || matches[0] || null;
+};
+
 export default function Home() {
   const [products, setProducts] = useState([]);
+  const [sections, setSections] = useState([]);
   const [categories, setCategories] = useState([]);
   const [banners, setBanners] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -20,7 +36,7 @@ export default function Home() {
     const loadData = async () => {
       try {
         const [prodData, catData, bannerData] = await Promise.all([
-          getAllProducts(),
+          getAllProducts({ size: 5 }),
           getCategories(),
           getActiveBanners().catch(err => []) // Fail safe for banners
         ]);
@@ -33,6 +49,20 @@ export default function Home() {
         setProducts(finalProducts);
         setCategories(finalCategories);
         setBanners(finalBanners);
+
+        // One request per section, so each shows its own category however large the catalog is
+        const sectionData = await Promise.all(SECTIONS.map(async (section) => {
+          const category = findSectionCategory(finalCategories, section.terms);
+          if (!category) return null;
+          try {
+            const page = await getCategoryProductPage(category.id, { size: SECTION_SIZE });
+            return { ...section, categoryId: category.id, products: page.items };
+          } catch (err) {
+            console.error(`Failed to load ${section.key} products`, err);
+            return null;
+          }
+        }));
+        setSections(sectionData.filter(s => s && s.products.length > 0));
       } catch (err) {
         console.error("Failed to fetch data:", err);
         // Optional: Set empty arrays on error to be safe
@@ -45,34 +75,6 @@ export default function Home() {
     loadData();
   }, []);
 
-  // helper to get category id by name
-  const getCatId = (name) => {
-    const cat = categories.find(c => c.name.toLowerCase().includes(name.toLowerCase()));
-    return cat ? cat.id : null;
-  };
-
-  // Organize products by category
-  const laptopProducts = products.filter(p => {
-    // Check if category or parent category matches "Laptop"
-    const cat = categories.find(c => c.id === p.category?.id);
-    return cat && (cat.name.toLowerCase().includes('laptop') || cat.parent?.name.toLowerCase().includes('laptop'));
-  });
-
-  const pcProducts = products.filter(p => {
-    const cat = categories.find(c => c.id === p.category?.id);
-    return cat && (cat.name.toLowerCase().includes('pc') || cat.parent?.name.toLowerCase().includes('pc'));
-  });
-
-  const componentProducts = products.filter(p => {
-    const cat = categories.find(c => c.id === p.category?.id);
-    return cat && (cat.name.toLowerCase().includes('linh kiện') || cat.name.toLowerCase().includes('component') || cat.parent?.name.toLowerCase().includes('component'));
-  });
-
-  const gearProducts = products.filter(p => {
-    const cat = categories.find(c => c.id === p.category?.id);
-    return cat && (cat.name.toLowerCase().includes('gear') || cat.parent?.name.toLowerCase().includes('gear'));
-  });
-
   // Filter banners by section
   const sliderBanners = banners.filter(b => !b.section || b.section === 'HOME_SLIDER').sort((a, b) => a.displayOrder - b.displayOrder);
   const rightTopBanners = banners.filter(b => b.section === 'HOME_RIGHT_TOP').sort((a, b) => a.displayOrder - b.displayOrder);
@@ -151,47 +153,16 @@ export default function Home() {
           )}
         </section>
 
-        {/* ===== CATEGORY SECTION: LAPTOPS ===== */}
-        {laptopProducts.length > 0 && (
-          <ProductCarousel
-            title="Laptop & Macbook"
-            icon="💻"
-            products={laptopProducts}
-            link={`/products?category=${getCatId('laptop')}`}
-          />
-        )}
-
-        {/* ===== CATEGORY SECTION: PC GAMING ===== */}
-        {pcProducts.length > 0 && (
-          <ProductCarousel
-            title="PC Gaming & Workstation"
-            icon="🖥️"
-            products={pcProducts}
-            link={`/products?category=${getCatId('pc')}`}
-          />
-        )}
-
-
-
-        {/* ===== CATEGORY SECTION: COMPONENTS ===== */}
-        {componentProducts.length > 0 && (
-          <ProductCarousel
-            title="Linh Kiện PC (Components)"
-            icon="⚙️"
-            products={componentProducts}
-            link={`/products?category=${getCatId('component')}`}
-          />
-        )}
-
-        {/* ===== CATEGORY SECTION: GEAR ===== */}
-        {gearProducts.length > 0 && (
+        {/* ===== CATEGORY SECTIONS: LAPTOPS, PC GAMING, COMPONENTS, GEAR ===== */}
+        {sections.map(section => (
           <ProductCarousel
-            title="Gaming Gear"
-            icon="🎧"
-            products={gearProducts}
-            link={`/products?category=${getCatId('gear')}`}
+            key={section.key}
+            title={section.title}
+            icon={section.icon}
+            products={section.products}
+            link={`/products?category=${section.categoryId}`}
           />
-        )}
+        ))}
 
         {/* ===== BANNER STRIP ===== */}
         <section className="py-8 bg-gray-50 -mx-4 px-4">
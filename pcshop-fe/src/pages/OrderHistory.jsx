@@ -1,5 +1,5 @@
 import { useEffect, useState } from "react";
-import { getMyOrders } from "../services/orderService";
+import { getOrderHistory } from "../services/orderService";
 import Navbar from "../components/Navbar";
 import Footer from "../components/Footer";
 
@@ -7,20 +7,25 @@ export default function OrderHistory() {
     const [orders, setOrders] = useState([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         loadOrders();
     }, []);
 
-    const loadOrders = async () => {
+    const loadOrders = async (cursor = null) => {
+        if (cursor) setLoadingMore(true);
         try {
-            const data = await getMyOrders();
-            setOrders(data);
+            const page = await getOrderHistory(cursor);
+            setOrders(prev => cursor ? [...prev, ...page.items] : page.items);
+            setNextCursor(page.nextCursor);
         } catch (err) {
             setError("Failed to load orders. Please try again.");
             console.error(err);
         } finally {
             setLoading(false);
+            setLoadingMore(false);
         }
     };
 
@@ -63,7 +68,8 @@ export default function OrderHistory() {
                                     <div className="flex items-center gap-2">
                                         <span className={`px-3 py-1 rounded-full text-xs font-bold ${order.status === 'COMPLETED' ? 'bg-green-100 text-green-700' :
                                             order.status === 'CANCELLED' ? 'bg-red-100 text-red-700' :
-                                                'bg-yellow-100 text-yellow-700'
+                                                order.status === 'CONFIRMED' || order.status === 'SHIPPING' ? 'bg-blue-100 text-blue-700' :
+                                                    'bg-yellow-100 text-yellow-700'
                                             }`}>
                                             {order.status}
                                         </span>
@@ -82,10 +88,13 @@ export default function OrderHistory() {
                                     {order.items?.map(item => (
                                         <div key={item.id} className="flex items-center gap-4">
                                             <div className="w-16 h-16 bg-gray-100 rounded flex-shrink-0 overflow-hidden">
-                                                <img src={item.product?.imageUrl || "https://via.placeholder.com/64"} alt="" className="w-full h-full object-cover" />
+                                                <img src={item.imageUrl || "https://via.placeholder.com/64"} alt="" className="w-full h-full object-cover" />
                                             </div>
                                             <div className="flex-grow">
-                                                <h4 className="font-medium text-gray-900">{item.product?.name || "Product"}</h4>
+                                                <h4 className="font-medium text-gray-900">
+                                                    {item.name || "Product"}
+                                                    {item.color && <span className="text-sm text-gray-500"> ({item.color})</span>}
+                                                </h4>
                                                 <div className="text-sm text-gray-500">Qty: {item.quantity}</div>
                                             </div>
                                             <div className="text-right font-medium text-gray-900">
@@ -98,6 +107,18 @@ export default function OrderHistory() {
                         </div>
                     ))}
                 </div>
+
+                {nextCursor && (
+                    <div className="text-center mt-6">
+                        <button
+                            onClick={() => loadOrders(nextCursor)}
+                            disabled={loadingMore}
+                            className="px-6 py-2 bg-white border border-gray-300 rounded-lg font-medium text-gray-700 hover:bg-gray-50 disabled:opacity-50"
+                        >
+                            {loadingMore ? "Loading..." : "Load more"}
+                        </button>
+                    </div>
+                )}
             </main>
             <Footer />
         </div>
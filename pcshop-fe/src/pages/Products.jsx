@@ -1,6 +1,6 @@
 import { useState, useEffect } from "react";
 import { useSearchParams } from "react-router-dom";
-import { getAllProducts, searchProducts, getCategories } from "../services/productService";
+import { searchProductPage, getCategories } from "../services/productService";
 import ProductCard from "../components/ProductCard";
 import Navbar from "../components/Navbar";
 import Footer from "../components/Footer";
@@ -8,6 +8,9 @@ import CategorySidebar from "../components/CategorySidebar";
 
 export default function Products() {
     const [products, setProducts] = useState([]);
+    const [facets, setFacets] = useState(null);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [categories, setCategories] = useState([]);
     const [loading, setLoading] = useState(true);
     const [searchParams, setSearchParams] = useSearchParams();
@@ -21,23 +24,22 @@ export default function Products() {
         getCategories().then(setCategories).catch(err => console.error("Error loading categories", err));
     }, []);
 
+    const filterParams = () => {
+        const params = {};
+        if (categoryId) params.categoryId = categoryId;
+        if (searchQuery) params.name = searchQuery;
+        return params;
+    };
+
     useEffect(() => {
         setLoading(true);
         const fetchProducts = async () => {
             try {
-                if (categoryId || searchQuery) {
-                    const params = {};
-                    if (categoryId) params.categoryId = categoryId;
-                    if (searchQuery) params.name = searchQuery;
-                    const data = await searchProducts(params);
-                    // Deduplicate by id
-                    const unique = data.filter((p, idx, arr) => arr.findIndex(x => x.id === p.id) === idx);
-                    setProducts(unique);
-                } else {
-                    const data = await getAllProducts();
-                    const unique = data.filter((p, idx, arr) => arr.findIndex(x => x.id === p.id) === idx);
-                    setProducts(unique);
-                }
+                // Server combines all filters and returns distinct rows, plus facet counts on the first page
+                const page = await searchProductPage(filterParams());
+                setProducts(page.items);
+                setFacets(page.facets);
+                setNextCursor(page.nextCursor);
             } catch (error) {
                 console.error("Failed to load products", error);
             } finally {
@@ -48,6 +50,20 @@ export default function Products() {
         fetchProducts();
     }, [categoryId, searchQuery]);
 
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const page = await searchProductPage({ ...filterParams(), cursor: nextCursor });
+            setProducts(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            console.error("Failed to load more products", error);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleCategoryClick = (id) => {
         if (id === categoryId) {
             searchParams.delete("category");
@@ -65,7 +81,7 @@ export default function Products() {
                 <div className="flex flex-col md:flex-row gap-8">
                     {/* Sidebar Filters */}
                     <aside className="w-full md:w-64 flex-shrink-0 space-y-6 sticky top-24 h-fit z-40 overflow-visible">
-                        <CategorySidebar categories={categories} />
+                        <CategorySidebar categories={categories} counts={facets?.categories} />
 
                         {/* Price Filter Mock */}
                         <div className="bg-white rounded-lg border border-gray-200 p-5 shadow-sm">
@@ -88,7 +104,7 @@ export default function Products() {
                                     : searchQuery ? `Search: "${searchQuery}"` : "All Products"
                                 }
                             </h1>
-                            <span className="text-gray-500 text-sm">{products.length} products found</span>
+                            <span className="text-gray-500 text-sm">{facets ? facets.total : products.length} products found</span>
                         </div>
 
                         {loading ? (
@@ -98,11 +114,24 @@ export default function Products() {
                                 ))}
                             </div>
                         ) : products.length > 0 ? (
-                            <div className="grid grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
-                                {products.map(product => (
-                                    <ProductCard key={product.id} product={product} />
-                                ))}
-                            </div>
+                            <>
+                                <div className="grid grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
+                                    {products.map(product => (
+                                        <ProductCard key={product.id} product={product} />
+                                    ))}
+                                </div>
+                                {nextCursor && (
+                                    <div className="mt-8 text-center">
+                                        <button
+                                            onClick={loadMore}
+                                            disabled={loadingMore}
+                                            className="px-6 py-2 border border-gray-300 rounded-lg text-sm font-bold bg-white hover:bg-gray-50 disabled:opacity-50"
+                                        >
+                                            {loadingMore ? 'Loading...' : 'Load more'}
+                                        </button>
+                                    </div>
+                                )}
+                            </>
                         ) : (
                             <div className="text-center py-20 bg-white rounded-lg border border-dashed border-gray-300">
                                 <div className="text-4xl mb-4">🔍</div>
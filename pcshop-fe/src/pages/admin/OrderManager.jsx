@@ -1,21 +1,51 @@
 import React, { useEffect, useState } from 'react';
-import { getAllOrders, updateOrderStatus, deleteOrder } from '../../services/orderService';
+import { searchOrders, getOrderById, updateOrderStatus, bulkUpdateOrderStatus, deleteOrder, downloadExport } from '../../services/orderService';
+
+const STATUSES = ['PENDING', 'CONFIRMED', 'SHIPPING', 'COMPLETED', 'CANCELLED'];
+
+// Allowed moves, mirroring OrderStatus on the server
+const NEXT = {
+    PENDING: ['CONFIRMED', 'CANCELLED'],
+    CONFIRMED: ['SHIPPING', 'CANCELLED'],
+    SHIPPING: ['COMPLETED', 'CANCELLED'],
+};
+
+const ACTIONS = {
+    CONFIRMED: { label: 'Confirm', className: 'bg-blue-600 hover:bg-blue-700' },
+    SHIPPING: { label: 'Ship', className: 'bg-indigo-600 hover:bg-indigo-700' },
+    COMPLETED: { label: 'Complete', className: 'bg-green-600 hover:bg-green-700' },
+    CANCELLED: { label: 'Cancel', className: 'bg-red-600 hover:bg-red-700' },
+};
+
+const BADGES = {
+    CONFIRMED: 'bg-blue-100 text-blue-700',
+    SHIPPING: 'bg-indigo-100 text-indigo-700',
+    COMPLETED: 'bg-green-100 text-green-700',
+    CANCELLED: 'bg-red-100 text-red-700',
+};
 
 export default function OrderManager() {
     const [orders, setOrders] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [filters, setFilters] = useState({ status: '', paymentMethod: '', userId: '', from: '', to: '' });
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState(null);
 
     const [selectedOrder, setSelectedOrder] = useState(null);
+    const [checked, setChecked] = useState([]);
 
     useEffect(() => {
-        loadOrders();
+        loadOrders(filters);
     }, []);
 
-    const loadOrders = async () => {
+    const loadOrders = async (activeFilters) => {
+        setLoading(true);
         try {
-            const data = await getAllOrders();
-            setOrders(data);
+            const page = await searchOrders(activeFilters);
+            setOrders(page.items);
+            setNextCursor(page.nextCursor);
+            setError(null);
         } catch (err) {
             setError("Failed to load orders.");
             console.error(err);
@@ -24,101 +54,200 @@ export default function OrderManager() {
         }
     };
 
-    const handleStatusUpdate = async (id, newStatus) => {
-        if (!window.confirm(`Change order #${id} status to ${newStatus}?`)) return;
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const page = await searchOrders(filters, nextCursor);
+            setOrders(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            alert("Failed to load more orders");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    const handleFilterChange = (e) => {
+        setFilters(prev => ({ ...prev, [e.target.name]: e.target.value }));
+    };
 
+    const handleView = async (id) => {
         try {
-            await updateOrderStatus(id, newStatus);
-            // Refresh local state
-            setOrders(prev => prev.map(o => o.id === id ? { ...o, status: newStatus } : o));
-            if (selectedOrder && selectedOrder.id === id) {
-                setSelectedOrder(prev => ({ ...prev, status: newStatus }));
-            }
+            setSelectedOrder(await getOrderById(id));
         } catch (err) {
-            alert("Failed to update status");
+            alert("Failed to load order details");
+        }
+    };
+
+    const applyUpdated = (updated) => {
+        setOrders(prev => prev.map(o => o.id === updated.id ? { ...o, status: updated.status, version: updated.version } : o));
+        if (selectedOrder && selectedOrder.id === updated.id) {
+            setSelectedOrder(updated);
         }
+    };
 
-        const handleDelete = async (id) => {
-            if (!window.confirm(`Are you sure you want to DELETE order #${id}? This cannot be undone.`)) return;
+    const handleStatusUpdate = async (order, newStatus) => {
+        if (!window.confirm(`Change order #${order.id} status to ${newStatus}?`)) return;
 
-            try {
-                await deleteOrder(id);
-                setOrders(prev => prev.filter(o => o.id !== id));
-                if (selectedOrder && selectedOrder.id === id) {
-                    setSelectedOrder(null);
+        try {
+            applyUpdated(await updateOrderStatus(order.id, newStatus, order.version));
+        } catch (err) {
+            if (err.status === 409) {
+                alert(`Order #${order.id} was changed by someone else or cannot move to ${newStatus}. Showing its current state.`);
+                try {
+                    applyUpdated(await getOrderById(order.id));
+                } catch (ignored) {
+                    // keep the stale row; the next reload fixes it
                 }
-            } catch (err) {
-                alert("Failed to delete order");
+            } else {
+                alert("Failed to update status");
+            }
+        }
+    };
+
+    const toggleChecked = (id) => {
+        setChecked(prev => prev.includes(id) ? prev.filter(x => x !== id) : [...prev, id]);
+    };
+
+    const handleBulkUpdate = async (newStatus) => {
+        if (!window.confirm(`Change ${checked.length} selected orders to ${newStatus}?`)) return;
+
+        try {
+            const result = await bulkUpdateOrderStatus(checked, newStatus);
+            const skipped = Object.keys(result.skipped);
+            if (skipped.length > 0) {
+                alert(`${result.updated.length} updated, ${skipped.length} skipped (#${skipped.join(', #')}).`);
             }
-        };
+            setChecked([]);
+            loadOrders(filters);
+        } catch (err) {
+            alert("Failed to update orders");
+        }
+    };
 
-        if (loading) return <div className="p-8 text-center">Loading orders...</div>;
-        if (error) return <div className="p-8 text-center text-red-600">{error}</div>;
+    const handleDelete = async (id) => {
+        if (!window.confirm(`Are you sure you want to DELETE order #${id}? This cannot be undone.`)) return;
 
-        return (
-            <div className="p-6">
-                <h1 className="text-2xl font-bold mb-6">Order Management</h1>
+        try {
+            await deleteOrder(id);
+            setOrders(prev => prev.filter(o => o.id !== id));
+            if (selectedOrder && selectedOrder.id === id) {
+                setSelectedOrder(null);
+            }
+        } catch (err) {
+            alert("Failed to delete order");
+        }
+    };
 
-                <div className="bg-white rounded-xl shadow-sm border border-gray-200 overflow-hidden">
-                    <table className="w-full text-left text-sm">
-                        <thead className="bg-gray-50 border-b border-gray-200">
-                            <tr>
-                                <th className="px-6 py-4 font-bold text-gray-700">Order ID</th>
-                                <th className="px-6 py-4 font-bold text-gray-700">Customer</th>
-                                <th className="px-6 py-4 font-bold text-gray-700">Date</th>
-                                <th className="px-6 py-4 font-bold text-gray-700">Total</th>
-                                <th className="px-6 py-4 font-bold text-gray-700">Status</th>
-                                <th className="px-6 py-4 font-bold text-gray-700">Actions</th>
-                            </tr>
-                        </thead>
-                        <tbody className="divide-y divide-gray-100">
-                            {orders.map(order => (
-                                <tr key={order.id} className="hover:bg-gray-50 transition-colors">
-                                    <td className="px-6 py-4 font-medium text-primary">#{order.id}</td>
-                                    <td className="px-6 py-4">
-                                        <div className="font-bold">{order.fullName || 'Guest'}</div>
-                                        <div className="text-xs text-gray-500">{order.phoneNumber}</div>
-                                    </td>
-                                    <td className="px-6 py-4 text-gray-500">
-                                        {new Date(order.createdAt).toLocaleDateString()}
-                                    </td>
-                                    <td className="px-6 py-4 font-bold">
-                                        {order.totalPrice?.toLocaleString()} ₫
-                                    </td>
-                                    <td className="px-6 py-4">
-                                        <span className={`px-3 py-1 rounded-full text-xs font-bold ${order.status === 'COMPLETED' ? 'bg-green-100 text-green-700' :
-                                            order.status === 'CANCELLED' ? 'bg-red-100 text-red-700' :
-                                                'bg-yellow-100 text-yellow-700'
-                                            }`}>
-                                            {order.status}
+    if (loading) return <div className="p-8 text-center">Loading orders...</div>;
+    if (error) return <div className="p-8 text-center text-red-600">{error}</div>;
+
+    return (
+        <div className="p-6">
+            <div className="flex justify-between items-center mb-6">
+                <h1 className="text-2xl font-bold">Order Management</h1>
+                <button
+                    onClick={() => downloadExport("orders").catch(err => alert(err.message))}
+                    className="px-4 py-2 border border-gray-300 rounded-lg text-sm font-bold hover:bg-gray-50"
+                >
+                    Export CSV
+                </button>
+            </div>
+
+            <form
+                onSubmit={(e) => { e.preventDefault(); loadOrders(filters); }}
+                className="flex flex-wrap items-end gap-3 mb-4 text-sm"
+            >
+                <select name="status" value={filters.status} onChange={handleFilterChange} className="border border-gray-300 rounded-lg px-3 py-2">
+                    <option value="">All statuses</option>
+                    {STATUSES.map(s => <option key={s} value={s}>{s}</option>)}
+                </select>
+                <input name="paymentMethod" value={filters.paymentMethod} onChange={handleFilterChange} placeholder="Payment method" className="border border-gray-300 rounded-lg px-3 py-2" />
+                <input name="userId" type="number" value={filters.userId} onChange={handleFilterChange} placeholder="User ID" className="border border-gray-300 rounded-lg px-3 py-2 w-28" />
+                <input name="from" type="date" value={filters.from} onChange={handleFilterChange} className="border border-gray-300 rounded-lg px-3 py-2" />
+                <input name="to" type="date" value={filters.to} onChange={handleFilterChange} className="border border-gray-300 rounded-lg px-3 py-2" />
+                <button type="submit" className="px-4 py-2 bg-primary text-white rounded-lg font-bold">Filter</button>
+            </form>
+
+            {checked.length > 0 && (
+                <div className="flex items-center gap-2 mb-4 text-sm">
+                    <span className="font-bold">{checked.length} selected:</span>
+                    {Object.entries(ACTIONS).map(([status, action]) => (
+                        <button
+                            key={status}
+                            onClick={() => handleBulkUpdate(status)}
+                            className={`${action.className} text-white px-3 py-1 rounded text-xs`}
+                        >
+                            {action.label}
+                        </button>
+                    ))}
+                    <button onClick={() => setChecked([])} className="text-gray-500 text-xs hover:underline">Clear</button>
+                </div>
+            )}
+
+            <div className="bg-white rounded-xl shadow-sm border border-gray-200 overflow-hidden">
+                <table className="w-full text-left text-sm">
+                    <thead className="bg-gray-50 border-b border-gray-200">
+                        <tr>
+                            <th className="pl-6 py-4"></th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Order ID</th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Customer</th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Date</th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Total</th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Status</th>
+                            <th className="px-6 py-4 font-bold text-gray-700">Actions</th>
+                        </tr>
+                    </thead>
+                    <tbody className="divide-y divide-gray-100">
+                        {orders.map(order => (
+                            <tr key={order.id} className="hover:bg-gray-50 transition-colors">
+                                <td className="pl-6 py-4">
+                                    {!order.archived && (
+                                        <input type="checkbox" checked={checked.includes(order.id)} onChange={() => toggleChecked(order.id)} />
+                                    )}
+                                </td>
+                                <td className="px-6 py-4 font-medium text-primary">#{order.id}</td>
+                                <td className="px-6 py-4">
+                                    <div className="font-bold">{order.fullName || 'Guest'}</div>
+                                    <div className="text-xs text-gray-500">{order.phoneNumber}</div>
+                                </td>
+                                <td className="px-6 py-4 text-gray-500">
+                                    {new Date(order.createdAt).toLocaleDateString()}
+                                </td>
+                                <td className="px-6 py-4 font-bold">
+                                    {order.totalPrice?.toLocaleString()} ₫
+                                </td>
+                                <td className="px-6 py-4">
+                                    <span className={`px-3 py-1 rounded-full text-xs font-bold ${BADGES[order.status] || 'bg-yellow-100 text-yellow-700'}`}>
+                                        {order.status}
+                                    </span>
+                                    {order.archived && (
+                                        <span className="ml-2 px-3 py-1 rounded-full text-xs font-bold bg-gray-100 text-gray-600" title="Moved to the archive; read-only">
+                                            Archived
                                         </span>
-                                    </td>
-                                    <td className="px-6 py-4">
-                                        <div className="flex gap-2">
+                                    )}
+                                </td>
+                                <td className="px-6 py-4">
+                                    <div className="flex gap-2">
+                                        <button
+                                            onClick={() => handleView(order.id)}
+                                            className="bg-blue-600 text-white px-3 py-1 rounded text-xs hover:bg-blue-700"
+                                        >
+                                            View
+                                        </button>
+
+                                        {(NEXT[order.status] || []).map(next => (
                                             <button
-                                                onClick={() => setSelectedOrder(order)}
-                                                className="bg-blue-600 text-white px-3 py-1 rounded text-xs hover:bg-blue-700"
+                                                key={next}
+                                                onClick={() => handleStatusUpdate(order, next)}
+                                                className={`${ACTIONS[next].className} text-white px-3 py-1 rounded text-xs`}
                                             >
-                                                View
+                                                {ACTIONS[next].label}
                                             </button>
-
-                                            {order.status !== 'COMPLETED' && order.status !== 'CANCELLED' && (
-                                                <>
-                                                    <button
-                                                        onClick={() => handleStatusUpdate(order.id, 'COMPLETED')}
-                                                        className="bg-green-600 text-white px-3 py-1 rounded text-xs hover:bg-green-700"
-                                                    >
-                                                        Complete
-                                                    </button>
-                                                    <button
-                                                        onClick={() => handleStatusUpdate(order.id, 'CANCELLED')}
-                                                        className="bg-red-600 text-white px-3 py-1 rounded text-xs hover:bg-red-700"
-                                                    >
-                                                        Cancel
-                                                    </button>
-                                                </>
-                                            )}
-                                        </div>
+                                        ))}
+                                    </div>
+                                    {!order.archived && (
                                         <div className="mt-2">
                                             <button
                                                 onClick={() => handleDelete(order.id)}
@@ -127,131 +256,136 @@ export default function OrderManager() {
                                                 Delete
                                             </button>
                                         </div>
-                                    </td>
-                                </tr>
-                            ))}
-                        </tbody>
-                    </table>
+                                    )}
+                                </td>
+                            </tr>
+                        ))}
+                    </tbody>
+                </table>
 
-                    {orders.length === 0 && (
-                        <div className="p-10 text-center text-gray-500">
-                            No orders found.
-                        </div>
-                    )}
+                {orders.length === 0 && (
+                    <div className="p-10 text-center text-gray-500">
+                        No orders found.
+                    </div>
+                )}
+            </div>
+
+            {nextCursor && (
+                <div className="mt-4 text-center">
+                    <button
+                        onClick={loadMore}
+                        disabled={loadingMore}
+                        className="px-4 py-2 border border-gray-300 rounded-lg text-sm font-bold hover:bg-gray-50 disabled:opacity-50"
+                    >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
                 </div>
+            )}
 
-                {/* Order Detail Modal */}
-                {selectedOrder && (
-                    <div className="fixed inset-0 bg-black/50 flex items-center justify-center z-50 p-4">
-                        <div className="bg-white rounded-xl shadow-2xl max-w-3xl w-full max-h-[90vh] overflow-y-auto">
-                            <div className="p-6 border-b border-gray-100 flex justify-between items-center sticky top-0 bg-white z-10">
-                                <h2 className="text-xl font-bold">Order Details #{selectedOrder.id}</h2>
-                                <button
-                                    onClick={() => setSelectedOrder(null)}
-                                    className="text-gray-400 hover:text-gray-600 text-2xl"
-                                >
-                                    &times;
-                                </button>
-                            </div>
+            {/* Order Detail Modal */}
+            {selectedOrder && (
+                <div className="fixed inset-0 bg-black/50 flex items-center justify-center z-50 p-4">
+                    <div className="bg-white rounded-xl shadow-2xl max-w-3xl w-full max-h-[90vh] overflow-y-auto">
+                        <div className="p-6 border-b border-gray-100 flex justify-between items-center sticky top-0 bg-white z-10">
+                            <h2 className="text-xl font-bold">Order Details #{selectedOrder.id}</h2>
+                            <button
+                                onClick={() => setSelectedOrder(null)}
+                                className="text-gray-400 hover:text-gray-600 text-2xl"
+                            >
+                                &times;
+                            </button>
+                        </div>
 
-                            <div className="p-6 space-y-8">
-                                {/* Customer Info */}
-                                <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
-                                    <div>
-                                        <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Customer Information</h3>
-                                        <div className="bg-gray-50 p-4 rounded-lg space-y-2 text-sm">
-                                            <p><span className="font-semibold">Name:</span> {selectedOrder.fullName}</p>
-                                            <p><span className="font-semibold">Phone:</span> {selectedOrder.phoneNumber}</p>
-                                            <p><span className="font-semibold">Email:</span> {selectedOrder.user?.email || 'N/A'}</p>
-                                        </div>
+                        <div className="p-6 space-y-8">
+                            {/* Customer Info */}
+                            <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
+                                <div>
+                                    <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Customer Information</h3>
+                                    <div className="bg-gray-50 p-4 rounded-lg space-y-2 text-sm">
+                                        <p><span className="font-semibold">Name:</span> {selectedOrder.fullName}</p>
+                                        <p><span className="font-semibold">Phone:</span> {selectedOrder.phoneNumber}</p>
+                                        <p><span className="font-semibold">Email:</span> {selectedOrder.user?.email || 'N/A'}</p>
                                     </div>
-                                    <div>
-                                        <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Shipping Information</h3>
-                                        <div className="bg-gray-50 p-4 rounded-lg space-y-2 text-sm">
-                                            <p><span className="font-semibold">Address:</span> {selectedOrder.shippingAddress}</p>
-                                            <p><span className="font-semibold">Payment Method:</span> {selectedOrder.paymentMethod}</p>
-                                            <p><span className="font-semibold">Note:</span> {selectedOrder.note || 'None'}</p>
-                                        </div>
+                                </div>
+                                <div>
+                                    <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Shipping Information</h3>
+                                    <div className="bg-gray-50 p-4 rounded-lg space-y-2 text-sm">
+                                        <p><span className="font-semibold">Address:</span> {selectedOrder.shippingAddress}</p>
+                                        <p><span className="font-semibold">Payment Method:</span> {selectedOrder.paymentMethod}</p>
+                                        <p><span className="font-semibold">Note:</span> {selectedOrder.note || 'None'}</p>
                                     </div>
                                 </div>
+                            </div>
 
-                                {/* Order Items */}
-                                <div>
-                                    <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Order Items</h3>
-                                    <div className="border border-gray-200 rounded-lg overflow-hidden">
-                                        <table className="w-full text-sm">
-                                            <thead className="bg-gray-50 border-b border-gray-200">
-                                                <tr>
-                                                    <th className="px-4 py-3 text-left">Product</th>
-                                                    <th className="px-4 py-3 text-center">Price</th>
-                                                    <th className="px-4 py-3 text-center">Quantity</th>
-                                                    <th className="px-4 py-3 text-right">Total</th>
-                                                </tr>
-                                            </thead>
-                                            <tbody className="divide-y divide-gray-100">
-                                                {selectedOrder.items?.map((item, index) => (
-                                                    <tr key={index}>
-                                                        <td className="px-4 py-3">
-                                                            <div className="flex items-center gap-3">
-                                                                <div className="w-10 h-10 bg-gray-100 rounded flex-shrink-0 overflow-hidden">
-                                                                    <img
-                                                                        src={item.product?.imageUrl || 'https://via.placeholder.com/40'}
-                                                                        alt=""
-                                                                        className="w-full h-full object-cover"
-                                                                    />
-                                                                </div>
-                                                                <span className="font-medium text-gray-900 line-clamp-1">{item.product?.name}</span>
+                            {/* Order Items */}
+                            <div>
+                                <h3 className="text-sm font-bold text-gray-500 uppercase mb-3">Order Items</h3>
+                                <div className="border border-gray-200 rounded-lg overflow-hidden">
+                                    <table className="w-full text-sm">
+                                        <thead className="bg-gray-50 border-b border-gray-200">
+                                            <tr>
+                                                <th className="px-4 py-3 text-left">Product</th>
+                                                <th className="px-4 py-3 text-center">Price</th>
+                                                <th className="px-4 py-3 text-center">Quantity</th>
+                                                <th className="px-4 py-3 text-right">Total</th>
+                                            </tr>
+                                        </thead>
+                                        <tbody className="divide-y divide-gray-100">
+                                            {selectedOrder.items?.map((item, index) => (
+                                                <tr key={index}>
+                                                    <td className="px-4 py-3">
+                                                        <div className="flex items-center gap-3">
+                                                            <div className="w-10 h-10 bg-gray-100 rounded flex-shrink-0 overflow-hidden">
+                                                                <img
+                                                                    src={item.product?.imageUrl || 'https://via.placeholder.com/40'}
+                                                                    alt=""
+                                                                    className="w-full h-full object-cover"
+                                                                />
                                                             </div>
-                                                        </td>
-                                                        <td className="px-4 py-3 text-center">{item.price?.toLocaleString()} ₫</td>
-                                                        <td className="px-4 py-3 text-center">{item.quantity}</td>
-                                                        <td className="px-4 py-3 text-right font-bold">
-                                                            {(item.price * item.quantity).toLocaleString()} ₫
-                                                        </td>
-                                                    </tr>
-                                                ))}
-                                            </tbody>
-                                            <tfoot className="bg-gray-50 font-bold border-t border-gray-200">
-                                                <tr>
-                                                    <td colSpan="3" className="px-4 py-3 text-right">Total Amount:</td>
-                                                    <td className="px-4 py-3 text-right text-primary text-lg">
-                                                        {selectedOrder.totalPrice?.toLocaleString()} ₫
+                                                            <span className="font-medium text-gray-900 line-clamp-1">{item.product?.name}</span>
+                                                        </div>
+                                                    </td>
+                                                    <td className="px-4 py-3 text-center">{item.price?.toLocaleString()} ₫</td>
+                                                    <td className="px-4 py-3 text-center">{item.quantity}</td>
+                                                    <td className="px-4 py-3 text-right font-bold">
+                                                        {(item.price * item.quantity).toLocaleString()} ₫
                                                     </td>
                                                 </tr>
-                                            </tfoot>
-                                        </table>
-                                    </div>
+                                            ))}
+                                        </tbody>
+                                        <tfoot className="bg-gray-50 font-bold border-t border-gray-200">
+                                            <tr>
+                                                <td colSpan="3" className="px-4 py-3 text-right">Total Amount:</td>
+                                                <td className="px-4 py-3 text-right text-primary text-lg">
+                                                    {selectedOrder.totalPrice?.toLocaleString()} ₫
+                                                </td>
+                                            </tr>
+                                        </tfoot>
+                                    </table>
                                 </div>
                             </div>
+                        </div>
 
-                            <div className="p-6 border-t border-gray-100 flex justify-end gap-3 bg-gray-50 sticky bottom-0 rounded-b-xl">
+                        <div className="p-6 border-t border-gray-100 flex justify-end gap-3 bg-gray-50 sticky bottom-0 rounded-b-xl">
+                            <button
+                                onClick={() => setSelectedOrder(null)}
+                                className="px-4 py-2 bg-white border border-gray-300 rounded-lg text-sm font-medium hover:bg-gray-50"
+                            >
+                                Close
+                            </button>
+                            {(NEXT[selectedOrder.status] || []).map(next => (
                                 <button
-                                    onClick={() => setSelectedOrder(null)}
-                                    className="px-4 py-2 bg-white border border-gray-300 rounded-lg text-sm font-medium hover:bg-gray-50"
+                                    key={next}
+                                    onClick={() => handleStatusUpdate(selectedOrder, next)}
+                                    className={`px-4 py-2 ${ACTIONS[next].className} text-white rounded-lg text-sm font-medium`}
                                 >
-                                    Close
+                                    {ACTIONS[next].label}
                                 </button>
-                                {selectedOrder.status === 'PENDING' && (
-                                    <>
-                                        <button
-                                            onClick={() => handleStatusUpdate(selectedOrder.id, 'CANCELLED')}
-                                            className="px-4 py-2 bg-red-600 text-white rounded-lg text-sm font-medium hover:bg-red-700"
-                                        >
-                                            Cancel Order
-                                        </button>
-                                        <button
-                                            onClick={() => handleStatusUpdate(selectedOrder.id, 'COMPLETED')}
-                                            className="px-4 py-2 bg-green-600 text-white rounded-lg text-sm font-medium hover:bg-green-700"
-                                        >
-                                            Mark as Completed
-                                        </button>
-                                    </>
-                                )}
-                            </div>
+                            ))}
                         </div>
                     </div>
-                )}
-            </div>
-        );
-    }
+                </div>
+            )}
+        </div>
+    );
 }
@@ -1,6 +1,7 @@
 import { useEffect, useState } from "react";
-import { getAllProducts, createProduct, updateProduct, deleteProduct, getCategories, createCategory } from "../../services/productService";
+import { getEveryProduct, getProductById, createProduct, updateProduct, deleteProduct, getCategories, createCategory } from "../../services/productService";
 import { uploadImage } from "../../services/uploadService";
+import { downloadExport } from "../../services/orderService";
 
 export default function ProductManager() {
     const [products, setProducts] = useState([]);
@@ -55,7 +56,7 @@ export default function ProductManager() {
         try {
             setError(null);
             const [productsData, categoriesData] = await Promise.all([
-                getAllProducts(),
+                getEveryProduct(),
                 getCategories()
             ]);
             setProducts(productsData.sort((a, b) => b.id - a.id));
@@ -66,7 +67,15 @@ export default function ProductManager() {
         }
     };
 
-    const handleEdit = (product) => {
+    const handleEdit = async (summary) => {
+        // The list holds compact summaries; load the full product (images, variants, specs) to edit
+        let product;
+        try {
+            product = await getProductById(summary.id);
+        } catch (err) {
+            alert("Failed to load product");
+            return;
+        }
         setEditingProduct(product);
         const category = product.category;
         const parentId = category?.parent?.id || (category?.id && !category.parent ? category.id : "") || "";
@@ -259,6 +268,12 @@ export default function ProductManager() {
                         <span className="absolute left-3 top-2.5 text-gray-400">🔍</span>
                     </div>
                     <div className="flex gap-2">
+                        <button
+                            onClick={() => downloadExport("products").catch(err => setError(err.message))}
+                            className="bg-gray-100 hover:bg-gray-200 text-gray-800 px-4 py-2 rounded-lg font-bold text-sm transition-all"
+                        >
+                            Export CSV
+                        </button>
                         <button
                             onClick={() => setIsCategoryModalOpen(true)}
                             className="bg-gray-100 hover:bg-gray-200 text-gray-800 px-4 py-2 rounded-lg font-bold text-sm transition-all"
@@ -0,0 +1,32 @@
+const API_URL = "http://localhost:8080/api/cart";
+
+// Cart lines as the server expects them: plain products by product id, variant picks by variant id
+export function toOrderItems(cartItems) {
+    const items = {};
+    const variantItems = {};
+    cartItems.forEach(item => {
+        if (item.variantId) {
+            variantItems[item.variantId] = (variantItems[item.variantId] || 0) + item.qty;
+        } else {
+            const productId = item.productId ?? item.id;
+            items[productId] = (items[productId] || 0) + item.qty;
+        }
+    });
+    return { items, variantItems };
+}
+
+// Key shared by cart items and quote lines
+export function lineKey(line) {
+    return line.variantId ? `v${line.variantId}` : `p${line.productId ?? line.id}`;
+}
+
+// Server-side prices, stock and totals: { lines, totalQuantity, total, orderable }
+export async function quoteCart(cartItems) {
+    const res = await fetch(`${API_URL}/quote`, {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify(toOrderItems(cartItems))
+    });
+    if (!res.ok) throw new Error("Failed to price cart");
+    return res.json();
+}
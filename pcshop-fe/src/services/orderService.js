@@ -31,13 +31,68 @@ export async function getAllOrders() {
     return res.json();
 }
 
-// ADMIN: Update Status
-export async function updateOrderStatus(id, status) {
-    const res = await fetch(`${API_URL}/${id}/status?status=${status}`, {
+// The signed-in user's orders, newest first; pass nextCursor back for the next page
+export async function getOrderHistory(cursor = null, size = 10) {
+    const params = new URLSearchParams();
+    if (cursor) params.append("cursor", cursor);
+    params.append("size", size);
+    const res = await fetch(`${API_URL}/history?${params.toString()}`, {
+        headers: getAuthHeaders()
+    });
+    if (!res.ok) throw new Error("Failed to fetch orders");
+    return res.json();
+}
+
+// ADMIN: One page of orders, newest first. filters: { status, paymentMethod, userId, from, to } (dates as YYYY-MM-DD).
+// Pass the returned nextCursor back as cursor to get the next page.
+export async function searchOrders(filters = {}, cursor = null, size = 20) {
+    const params = new URLSearchParams();
+    Object.entries(filters).forEach(([key, value]) => {
+        if (value !== undefined && value !== null && value !== "") params.append(key, value);
+    });
+    if (cursor) params.append("cursor", cursor);
+    params.append("size", size);
+    const res = await fetch(`${API_URL}/search?${params.toString()}`, {
+        headers: getAuthHeaders()
+    });
+    if (!res.ok) throw new Error("Failed to search orders");
+    return res.json();
+}
+
+// One order with items (owner or admin)
+export async function getOrderById(id) {
+    const res = await fetch(`${API_URL}/${id}`, {
+        headers: getAuthHeaders()
+    });
+    if (!res.ok) throw new Error("Failed to fetch order");
+    return res.json();
+}
+
+// ADMIN: Update Status. Pass the version the screen showed; a 409 means someone else changed the order first
+// or the move is not allowed from its current status (err.status === 409).
+export async function updateOrderStatus(id, status, version) {
+    const params = new URLSearchParams({ status });
+    if (version !== undefined && version !== null) params.append("version", version);
+    const res = await fetch(`${API_URL}/${id}/status?${params.toString()}`, {
         method: 'PUT',
         headers: getAuthHeaders()
     });
-    if (!res.ok) throw new Error("Failed to update status");
+    if (!res.ok) {
+        const err = new Error("Failed to update status");
+        err.status = res.status;
+        throw err;
+    }
+    return res.json();
+}
+
+// ADMIN: Move many orders to one status; returns { status, updated: [ids], skipped: { id: reason } }
+export async function bulkUpdateOrderStatus(ids, status) {
+    const res = await fetch(`${API_URL}/bulk-status`, {
+        method: 'POST',
+        headers: getAuthHeaders(),
+        body: JSON.stringify({ ids, status })
+    });
+    if (!res.ok) throw new Error("Failed to update orders");
     return res.json();
 }
 
@@ -50,3 +105,18 @@ export async function deleteOrder(id) {
     if (!res.ok) throw new Error("Failed to delete order");
     return res.json();
 }
+
+// ADMIN: Download a streamed export ("products" or "orders") as CSV or NDJSON
+export async function downloadExport(kind, format = "csv") {
+    const res = await fetch(`http://localhost:8080/api/admin/export/${kind}?format=${format}`, {
+        headers: getAuthHeaders()
+    });
+    if (!res.ok) throw new Error("Failed to export " + kind);
+    const blob = await res.blob();
+    const url = URL.createObjectURL(blob);
+    const link = document.createElement("a");
+    link.href = url;
+    link.download = `${kind}.${format}`;
+    link.click();
+    URL.revokeObjectURL(url);
+}
@@ -1,14 +1,34 @@
 const API_URL = "http://localhost:8080/api/products";
 
-export async function getAllProducts() {
-  const res = await fetch(API_URL);
+// Listing endpoints are cursor-paginated: { items, nextCursor, size }
+export async function getProductPage(params = {}) {
+  const query = new URLSearchParams(params).toString();
+  const res = await fetch(query ? `${API_URL}?${query}` : API_URL);
   if (!res.ok) {
     throw new Error("Failed to fetch products");
   }
   return res.json();
 }
 
-export async function searchProducts(params) {
+export async function getAllProducts(params = {}) {
+  const page = await getProductPage(params);
+  return page.items;
+}
+
+// Admin screens need the whole catalog, so follow nextCursor until the last page
+export async function getEveryProduct() {
+  const all = [];
+  let cursor = null;
+  do {
+    const page = await getProductPage(cursor ? { size: 100, cursor } : { size: 100 });
+    all.push(...page.items);
+    cursor = page.nextCursor;
+  } while (cursor);
+  return all;
+}
+
+// First page of a search also carries facets: { total, categories, priceBuckets, ... }
+export async function searchProductPage(params) {
   const query = new URLSearchParams(params).toString();
   const res = await fetch(`${API_URL}/search?${query}`);
   if (!res.ok) {
@@ -17,6 +37,32 @@ export async function searchProducts(params) {
   return res.json();
 }
 
+export async function searchProducts(params) {
+  const page = await searchProductPage(params);
+  return page.items;
+}
+
+// Typeahead: { products, categories, keywords }, each item { type, id, text, imageUrl, price }
+export async function suggestProducts(q, limit = 5) {
+  const query = new URLSearchParams({ q, limit }).toString();
+  const res = await fetch(`${API_URL}/suggest?${query}`);
+  if (!res.ok) {
+    throw new Error("Failed to fetch suggestions");
+  }
+  return res.json();
+}
+
+// A category and all of its subcategories, one cursor page at a time: { items, nextCursor, size }
+export async function getCategoryProductPage(categoryId, params = {}) {
+  const query = new URLSearchParams(params).toString();
+  const url = `http://localhost:8080/api/categories/${categoryId}/products`;
+  const res = await fetch(query ? `${url}?${query}` : url);
+  if (!res.ok) {
+    throw new Error("Failed to fetch category products");
+  }
+  return res.json();
+}
+
 export async function getCategories() {
   const res = await fetch("http://localhost:8080/api/categories");
   if (!res.ok) {
@@ -77,7 +123,8 @@ export async function getRelatedProducts(categoryId) {
   // Use existing search/filter API
   const res = await fetch(`${API_URL}/search?categoryId=${categoryId}`);
   if (!res.ok) return [];
-  return res.json();
+  const page = await res.json();
+  return page.items;
 }
 
 export async function createCategory(category) {